@@ -21,11 +21,20 @@ import org.apache.commons.lang3.BooleanUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.math.NumberUtils;
 
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
 /**
  * This is the input for an intent request handing in all necessary information
  * for handling the intent properly. Its counterpart is the AlexaOutput object.
+ * Slot values are analyzed at most once per input no matter how many handlers check on them.
  */
 public class AlexaInput {
+    private static final DoubleMetaphone DOUBLE_METAPHONE = new DoubleMetaphone();
+    private static final ColognePhonetic COLOGNE_PHONETIC = new ColognePhonetic();
+
+    private final Map<String, SlotAnalysis> slotAnalyses = new HashMap<>();
     private final AlexaStateHandler sessionStateHandler;
     private IntentRequest intentRequest;
     private LaunchRequest launchRequest;
@@ -136,9 +145,9 @@ public class AlexaInput {
      * @return True, if slot value and given value are phonetically equal with Double metaphone algorithm
      */
     public boolean hasSlotIsDoubleMetaphoneEqual(final String slotName, final String value) {
-        final String slotValue = getSlotValue(slotName);
-        return hasSlotNotBlank(slotName) && value != null &&
-                new DoubleMetaphone().isDoubleMetaphoneEqual(slotValue, value);
+        final SlotAnalysis slotAnalysis = getSlotAnalysis(slotName);
+        return slotAnalysis.isNotBlank() && value != null &&
+                Objects.equals(slotAnalysis.getDoubleMetaphone(), DOUBLE_METAPHONE.doubleMetaphone(value));
     }
 
     /**
@@ -151,9 +160,9 @@ public class AlexaInput {
      * @return True, if slot value and given value are phonetically equal with Cologne phonetic algorithm
      */
     public boolean hasSlotIsCologneEqual(final String slotName, final String value) {
-        final String slotValue = getSlotValue(slotName);
-        return hasSlotNotBlank(slotName) && value != null &&
-                new ColognePhonetic().isEncodeEqual(slotValue, value);
+        final SlotAnalysis slotAnalysis = getSlotAnalysis(slotName);
+        return slotAnalysis.isNotBlank() && value != null &&
+                Objects.equals(slotAnalysis.getColognePhonetic(), COLOGNE_PHONETIC.colognePhonetic(value));
     }
 
     /**
@@ -177,7 +186,7 @@ public class AlexaInput {
      * @return True, if the slot exists in the intent request and is not blank.
      */
     public boolean hasSlotNotBlank(final String slotName) {
-        return hasSlot(slotName) && StringUtils.isNotBlank(intentRequest.getIntent().getSlot(slotName).getValue());
+        return getSlotAnalysis(slotName).isNotBlank();
     }
 
     /**
@@ -186,7 +195,7 @@ public class AlexaInput {
      * @return True, if the slot exists in the intent request and is a number.
      */
     public boolean hasSlotIsNumber(final String slotName) {
-        return hasSlot(slotName) && NumberUtils.isNumber(intentRequest.getIntent().getSlot(slotName).getValue());
+        return getSlotAnalysis(slotName).isNumber();
     }
 
     /**
@@ -196,7 +205,7 @@ public class AlexaInput {
      * @return True, if the slot exists in the intent request and represents a boolean true.
      */
     public boolean hasSlotIsTrue(final String slotName) {
-        return hasSlot(slotName) && BooleanUtils.toBoolean(intentRequest.getIntent().getSlot(slotName).getValue());
+        return getSlotAnalysis(slotName).isTrue();
     }
 
     /**
@@ -207,4 +216,59 @@ public class AlexaInput {
     public String getSlotValue(final String slotName) {
         return hasSlot(slotName) ? intentRequest.getIntent().getSlot(slotName).getValue() : null;
     }
+
+    private SlotAnalysis getSlotAnalysis(final String slotName) {
+        return slotAnalyses.computeIfAbsent(slotName, name -> new SlotAnalysis(getSlotValue(name)));
+    }
+
+    /**
+     * Analyzes the value of a slot lazily and keeps the results. The value of a missing slot is null.
+     */
+    private static final class SlotAnalysis {
+        private final String value;
+        private Boolean notBlank;
+        private Boolean number;
+        private Boolean isTrue;
+        private String doubleMetaphone;
+        private String colognePhonetic;
+
+        private SlotAnalysis(final String value) {
+            this.value = value;
+        }
+
+        private boolean isNotBlank() {
+            if (notBlank == null) {
+                notBlank = StringUtils.isNotBlank(value);
+            }
+            return notBlank;
+        }
+
+        private boolean isNumber() {
+            if (number == null) {
+                number = NumberUtils.isNumber(value);
+            }
+            return number;
+        }
+
+        private boolean isTrue() {
+            if (isTrue == null) {
+                isTrue = BooleanUtils.toBoolean(value);
+            }
+            return isTrue;
+        }
+
+        private String getDoubleMetaphone() {
+            if (doubleMetaphone == null) {
+                doubleMetaphone = DOUBLE_METAPHONE.doubleMetaphone(value);
+            }
+            return doubleMetaphone;
+        }
+
+        private String getColognePhonetic() {
+            if (colognePhonetic == null) {
+                colognePhonetic = COLOGNE_PHONETIC.colognePhonetic(value);
+            }
+            return colognePhonetic;
+        }
+    }
 }
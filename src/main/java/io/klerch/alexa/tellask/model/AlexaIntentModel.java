@@ -12,14 +12,18 @@ import io.klerch.alexa.state.handler.AlexaStateHandler;
 import io.klerch.alexa.state.model.AlexaStateIgnore;
 import io.klerch.alexa.state.model.AlexaStateModel;
 import io.klerch.alexa.state.utils.AlexaStateException;
+import io.klerch.alexa.tellask.schema.AlexaSlotAccessor;
 import io.klerch.alexa.tellask.schema.annotation.AlexaSlotSave;
+import io.klerch.alexa.tellask.schema.type.AlexaOutputFormat;
 import org.apache.log4j.Logger;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Field;
-import java.util.Arrays;
-import java.util.Optional;
-import java.util.function.Function;
-import java.util.stream.Stream;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.*;
 
 /**
  * Is a wrapper to the AlexaStateModel to make them compatible with the Tellask SDK.
@@ -29,19 +33,20 @@ import java.util.stream.Stream;
 public class AlexaIntentModel {
     @AlexaStateIgnore
     private static final Logger LOG = Logger.getLogger(AlexaIntentModel.class);
+    /**
+     * Slot accessor of a model class. The one generated at compile time is preferred. If there
+     * is none the AlexaSlotSave fields of a model class (including the ones of its super classes)
+     * are read out with reflection which is set up only once per model class.
+     */
     @AlexaStateIgnore
-    private AlexaStateModel model;
-
-    private Function<Field, AlexaOutputSlot> makeASlot = (final Field field) -> {
-        field.setAccessible(true);
-        final AlexaSlotSave slotSave = field.getAnnotation(AlexaSlotSave.class);
-        try {
-            return new AlexaOutputSlot(slotSave.slotName(), model.get(field)).formatAs(slotSave.formatAs());
-        } catch (AlexaStateException e) {
-            LOG.error(e);
-            return null;
+    private static final ClassValue<AlexaSlotAccessor> SLOT_ACCESSORS = new ClassValue<AlexaSlotAccessor>() {
+        @Override
+        protected AlexaSlotAccessor computeValue(final Class<?> modelClass) {
+            return getGeneratedSlotAccessor(modelClass).orElseGet(() -> new ReflectiveSlotAccessor(modelClass));
         }
     };
+    @AlexaStateIgnore
+    private AlexaStateModel model;
 
     /**
      * Turns a state model into an intent model. You likely need this when reading
@@ -85,7 +90,15 @@ public class AlexaIntentModel {
      * @return True, if the model has at least one field tagged as AlexaSlotSave
      */
     public boolean hasOutputSlot() {
-        return getSlotSavedFields().findFirst().isPresent();
+        return !getSlotAccessor().getSlotNames().isEmpty();
+    }
+
+    /**
+     * Names of all the slots provided by fields tagged with AlexaSlotSave
+     * @return names of all the slots provided by fields tagged with AlexaSlotSave
+     */
+    public Set<String> getOutputSlotNames() {
+        return getSlotAccessor().getSlotNames();
     }
 
     /**
@@ -94,7 +107,7 @@ public class AlexaIntentModel {
      * @return True, if the model has a field with given slot-name
      */
     public boolean hasOutputSlot(final String slotName) {
-        return getSlotSavedField(slotName).isPresent();
+        return getSlotAccessor().getSlotNames().contains(slotName);
     }
 
     /**
@@ -102,20 +115,122 @@ public class AlexaIntentModel {
      * tagged with AlexaSlotSave which got the given slot-name
      * @param slotName the slot-name to look after
      * @return an AlexaOutputSlot object with all the information coming from one of its fields
-     * tagged with AlexaSlotSave which got the given slot-name
+     * tagged with AlexaSlotSave which got the given slot-name. It is empty if reading out the
+     * value failed, e.g. because the getter of the field threw an exception.
      */
     public Optional<AlexaOutputSlot> getOutputSlot(final String slotName) {
-        return getSlotSavedField(slotName).map(makeASlot);
+        try {
+            return getSlotAccessor().getOutputSlot(model, slotName);
+        } catch (final RuntimeException e) {
+            LOG.error("Could not read out value of slot '" + slotName + "' from model '" + model.getClass().getName() + "'.", e);
+            return Optional.empty();
+        }
+    }
+
+    private AlexaSlotAccessor getSlotAccessor() {
+        return SLOT_ACCESSORS.get(model.getClass());
     }
 
-    private Stream<Field> getSlotSavedFields() {
-        return Arrays.stream(model.getClass().getDeclaredFields())
-                .filter(field -> field.isAnnotationPresent(AlexaSlotSave.class));
+    private static Optional<AlexaSlotAccessor> getGeneratedSlotAccessor(final Class<?> modelClass) {
+        final String accessorName = modelClass.getName().replace('$', '_') + AlexaSlotAccessor.CLASS_NAME_SUFFIX;
+        try {
+            final Class<?> accessorClass = Class.forName(accessorName, true, modelClass.getClassLoader());
+            if (AlexaSlotAccessor.class.isAssignableFrom(accessorClass)) {
+                return Optional.of((AlexaSlotAccessor) accessorClass.getConstructor().newInstance());
+            }
+        } catch (final ClassNotFoundException e) {
+            LOG.debug("No generated slot accessor found for model '" + modelClass.getName() + "'. Fall back to reflection.");
+        } catch (final ReflectiveOperationException | LinkageError e) {
+            LOG.warn("Could not instantiate generated slot accessor '" + accessorName + "'. Fall back to reflection.", e);
+        }
+        return Optional.empty();
     }
 
-    private Optional<Field> getSlotSavedField(final String slotName) {
-        return getSlotSavedFields()
-                .filter(field -> field.getAnnotation(AlexaSlotSave.class).slotName().equals(slotName))
-                .findFirst();
+    /**
+     * Reads out AlexaSlotSave fields of a model class with reflection.
+     */
+    private static final class ReflectiveSlotAccessor implements AlexaSlotAccessor {
+        private final Map<String, SlotSaveField> fields;
+
+        private ReflectiveSlotAccessor(final Class<?> modelClass) {
+            this.fields = SlotSaveField.of(modelClass);
+        }
+
+        @Override
+        public Set<String> getSlotNames() {
+            return fields.keySet();
+        }
+
+        @Override
+        public Optional<AlexaOutputSlot> getOutputSlot(final AlexaStateModel model, final String slotName) {
+            final SlotSaveField field = fields.get(slotName);
+            return field != null ? Optional.of(field.makeASlot(model)) : Optional.empty();
+        }
+    }
+
+    /**
+     * A field tagged as AlexaSlotSave with a handle to read out its value.
+     */
+    private static final class SlotSaveField {
+        private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+        private final String slotName;
+        private final AlexaOutputFormat formatAs;
+        private final MethodHandle getter;
+
+        private SlotSaveField(final String slotName, final AlexaOutputFormat formatAs, final MethodHandle getter) {
+            this.slotName = slotName;
+            this.formatAs = formatAs;
+            this.getter = getter;
+        }
+
+        private static Map<String, SlotSaveField> of(final Class<?> modelClass) {
+            final Map<String, SlotSaveField> fields = new LinkedHashMap<>();
+            // fields of subclasses win over fields of super classes with the same slot name
+            for (Class<?> type = modelClass; type != null && type != Object.class; type = type.getSuperclass()) {
+                for (final Field field : type.getDeclaredFields()) {
+                    final AlexaSlotSave slotSave = field.getAnnotation(AlexaSlotSave.class);
+                    if (slotSave != null && !fields.containsKey(slotSave.slotName())) {
+                        try {
+                            fields.put(slotSave.slotName(), new SlotSaveField(slotSave.slotName(), slotSave.formatAs(), getGetter(modelClass, field)));
+                        } catch (IllegalAccessException | SecurityException e) {
+                            LOG.error("Could not access field '" + field.getName() + "' of model '" + modelClass.getName() + "' for reading.", e);
+                        }
+                    }
+                }
+            }
+            return Collections.unmodifiableMap(fields);
+        }
+
+        /**
+         * Prefers a public getter of the field just like the state model does when reading
+         * out field values. Reads the field directly otherwise.
+         */
+        private static MethodHandle getGetter(final Class<?> modelClass, final Field field) throws IllegalAccessException {
+            final String getterName = "get" + Character.toUpperCase(field.getName().charAt(0)) + field.getName().substring(1);
+            for (final Method method : modelClass.getMethods()) {
+                if (method.getName().equals(getterName) && method.getParameterCount() == 0 && !Modifier.isStatic(method.getModifiers())) {
+                    method.setAccessible(true);
+                    return MethodHandles.lookup().unreflect(method).asType(GETTER_TYPE);
+                }
+            }
+            field.setAccessible(true);
+            final MethodHandle fieldGetter = MethodHandles.lookup().unreflectGetter(field);
+            // static fields are read without a model instance
+            return (Modifier.isStatic(field.getModifiers()) ? MethodHandles.dropArguments(fieldGetter, 0, Object.class) : fieldGetter).asType(GETTER_TYPE);
+        }
+
+        private AlexaOutputSlot makeASlot(final AlexaStateModel model) {
+            final Object value;
+            try {
+                value = (Object) getter.invokeExact((Object) model);
+            } catch (final RuntimeException | Error e) {
+                // thrown as is just like by a generated slot accessor
+                throw e;
+            } catch (final Throwable e) {
+                throw new IllegalStateException("Getter of slot '" + slotName + "' threw a checked exception.", e);
+            }
+            return new AlexaOutputSlot(slotName, value).formatAs(formatAs);
+        }
     }
 }
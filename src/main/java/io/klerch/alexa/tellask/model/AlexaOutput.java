@@ -17,7 +17,10 @@ import org.apache.commons.lang3.Validate;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.function.Predicate;
 
 /**
@@ -32,6 +35,9 @@ public class AlexaOutput {
     private final Card card;
     private final UtteranceReader utteranceReader;
     private final String locale;
+    // lazily built indexes of slots by their names
+    private Map<String, AlexaOutputSlot> slotIndex;
+    private Map<String, AlexaIntentModel> savedSlotIndex;
 
     private AlexaOutput(final AlexaOutputBuilder builder) {
         this.intentName = builder.intentName;
@@ -90,6 +96,31 @@ public class AlexaOutput {
         return slots;
     }
 
+    /**
+     * Looks up the slot with the given name. Slots directly put into this output are
+     * preferred over AlexaSlotSave fields of the models given to this output. The first
+     * slot or model having a slot with that name wins.
+     * @param slotName name of the slot
+     * @return the slot with the given name
+     */
+    public Optional<AlexaOutputSlot> getOutputSlot(final String slotName) {
+        if (slotIndex == null) {
+            slotIndex = new HashMap<>();
+            slots.forEach(slot -> slotIndex.putIfAbsent(slot.getName(), slot));
+        }
+        final AlexaOutputSlot slot = slotIndex.get(slotName);
+        if (slot != null) {
+            return Optional.of(slot);
+        }
+        // if not directly applied look in provided models for AlexaSlotSave fields
+        if (savedSlotIndex == null) {
+            savedSlotIndex = new HashMap<>();
+            models.forEach(model -> model.getOutputSlotNames().forEach(name -> savedSlotIndex.putIfAbsent(name, model)));
+        }
+        final AlexaIntentModel model = savedSlotIndex.get(slotName);
+        return model != null ? model.getOutputSlot(slotName) : Optional.empty();
+    }
+
     /**
      * Optionally a card will be attached to the speechlet response.
      * @return The card which will be attached to the speechlet response.
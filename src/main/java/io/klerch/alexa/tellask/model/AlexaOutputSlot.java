@@ -72,6 +72,14 @@ public class AlexaOutputSlot {
         return format.getSsml(value);
     }
 
+    /**
+     * Applies the output format to the value and appends the resulting SSML to the given buffer.
+     * @param buffer the buffer to append the SSML-representation of the slot value to
+     */
+    public void appendSsml(final StringBuilder buffer) {
+        format.appendSsml(buffer, value);
+    }
+
     /**
      * Returns the slot value
      * @return slot value
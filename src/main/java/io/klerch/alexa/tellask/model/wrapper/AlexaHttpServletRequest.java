@@ -8,32 +8,88 @@
  */
 package io.klerch.alexa.tellask.model.wrapper;
 
+import com.amazon.speech.Sdk;
+
 import javax.servlet.ServletInputStream;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletRequestWrapper;
 import java.io.BufferedReader;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.util.Arrays;
 
 /**
- * {@inheritDoc}
+ * A servlet request wrapper which reads the body of a request once and keeps its raw bytes.
+ * The body can then be read as often as needed without copying it and without losing anything
+ * the request signature is computed from.
  */
 public class AlexaHttpServletRequest extends HttpServletRequestWrapper {
-    private final String streamContents;
+    /**
+     * Bodies of requests are not read beyond this size.
+     */
+    public static final int MAX_BODY_SIZE = 1024 * 1024;
+    /**
+     * The buffer for the body initially never exceeds this size no matter what the content-length says.
+     */
+    private static final int MAX_INITIAL_BUFFER_SIZE = 16 * 1024;
+    private static final int DEFAULT_BUFFER_SIZE = 4 * 1024;
+
+    private final byte[] body;
 
     /**
-     * {@inheritDoc}
+     * Wraps a servlet request and reads out its body. If the request provides a content-length
+     * the buffer is allocated with the size of the body right away unless it is larger than 16 KB.
+     * The buffer then grows with the bytes actually read.
+     * @param request the servlet request
+     * @throws IOException thrown when the body of the request could not be read or exceeds MAX_BODY_SIZE
      */
     public AlexaHttpServletRequest(final HttpServletRequest request) throws IOException {
         super(request);
-        final StringBuilder sb = new StringBuilder();
-        final BufferedReader bufferedReader = request.getReader();
-        String line;
-        while ((line = bufferedReader.readLine()) != null){
-            sb.append(line);
+        this.body = readBody(request.getInputStream(), request.getContentLength());
+    }
+
+    private static byte[] readBody(final InputStream input, final int contentLength) throws IOException {
+        // never trust the content-length when allocating memory
+        byte[] buffer = new byte[contentLength > 0 ? Math.min(contentLength, MAX_INITIAL_BUFFER_SIZE) : DEFAULT_BUFFER_SIZE];
+        int offset = 0;
+
+        while (true) {
+            if (offset == buffer.length) {
+                // only grow the buffer if there is more to read
+                final int next = input.read();
+                if (next == -1) {
+                    return buffer;
+                }
+                if (buffer.length >= MAX_BODY_SIZE) {
+                    throw new IOException("Request body exceeds the maximum size of " + MAX_BODY_SIZE + " bytes.");
+                }
+                buffer = Arrays.copyOf(buffer, Math.min(buffer.length * 2, MAX_BODY_SIZE));
+                buffer[offset++] = (byte) next;
+            }
+            final int read = input.read(buffer, offset, buffer.length - offset);
+            if (read == -1) {
+                return offset == buffer.length ? buffer : Arrays.copyOf(buffer, offset);
+            }
+            offset += read;
         }
-        streamContents = sb.toString();
+    }
+
+    /**
+     * The raw bytes of the request body. The array is not copied so it must not be modified.
+     * @return raw bytes of the request body
+     */
+    public byte[] getBody() {
+        return body;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getContentLength() {
+        return body.length;
     }
 
     /**
@@ -41,12 +97,27 @@ public class AlexaHttpServletRequest extends HttpServletRequestWrapper {
      */
     @Override
     public ServletInputStream getInputStream() throws IOException {
-        final ByteArrayInputStream byteArrayInputStream = new ByteArrayInputStream(streamContents.getBytes());
+        final ByteArrayInputStream byteArrayInputStream = new ByteArrayInputStream(body);
         return new ServletInputStream() {
             @Override
             public int read() throws IOException {
                 return byteArrayInputStream.read();
             }
+
+            @Override
+            public int read(final byte[] b, final int off, final int len) throws IOException {
+                return byteArrayInputStream.read(b, off, len);
+            }
+
+            @Override
+            public long skip(final long n) throws IOException {
+                return byteArrayInputStream.skip(n);
+            }
+
+            @Override
+            public int available() throws IOException {
+                return byteArrayInputStream.available();
+            }
         };
     }
 
@@ -55,6 +126,7 @@ public class AlexaHttpServletRequest extends HttpServletRequestWrapper {
      */
     @Override
     public BufferedReader getReader() throws IOException {
-        return new BufferedReader(new InputStreamReader(this.getInputStream()));
+        final String encoding = getCharacterEncoding();
+        return new BufferedReader(new InputStreamReader(getInputStream(), encoding != null ? encoding : Sdk.CHARACTER_ENCODING));
     }
 }
@@ -8,21 +8,19 @@
  */
 package io.klerch.alexa.tellask.model.wrapper;
 
+import com.amazon.speech.json.SpeechletRequestEnvelope;
 import com.amazon.speech.speechlet.SpeechletException;
-import com.amazon.speech.speechlet.SpeechletRequestHandler;
 import com.amazon.speech.speechlet.SpeechletRequestHandlerException;
 import com.amazon.speech.speechlet.verifier.*;
 import com.amazonaws.services.lambda.runtime.Context;
 import com.amazonaws.services.lambda.runtime.RequestStreamHandler;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import io.klerch.alexa.state.handler.AlexaStateHandler;
 import io.klerch.alexa.tellask.schema.UtteranceReader;
 import io.klerch.alexa.tellask.schema.annotation.AlexaApplication;
 import io.klerch.alexa.tellask.util.AlexaRequestHandlerException;
+import io.klerch.alexa.tellask.util.TellaskJson;
 import io.klerch.alexa.tellask.util.factory.AlexaSpeechletFactory;
 import io.klerch.alexa.tellask.util.resource.ResourceUtteranceReader;
-import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.Validate;
 
 import java.io.IOException;
@@ -37,9 +35,48 @@ import java.util.stream.Stream;
  * An extended version of Lambda's RequestStreamHandler. You must provide some configuration
  * to this class by either using the AlexaApplication-annotation or by overriding the getter methods.
  * At least you must give it a supported application id otherwise all of the incoming requests will
- * be rejected.
+ * be rejected. The configuration is read out once on the first request and then used for all
+ * the requests a warm Lambda container handles.
  */
 public abstract class AlexaRequestStreamHandler implements RequestStreamHandler {
+    private volatile AlexaSpeechlet speechlet;
+    private volatile AlexaSpeechletRequestHandler requestHandler;
+
+    /**
+     * Creates the speechlet on the first request. Overridden getters of subclasses are
+     * fully initialized by then.
+     */
+    private AlexaSpeechlet getOrCreateSpeechlet() throws IOException {
+        AlexaSpeechlet alexaSpeechlet = speechlet;
+        if (alexaSpeechlet == null) {
+            synchronized (this) {
+                alexaSpeechlet = speechlet;
+                if (alexaSpeechlet == null) {
+                    alexaSpeechlet = AlexaSpeechletFactory.getSpeechlet(getSpeechlet(), getUtteranceReader());
+                    speechlet = alexaSpeechlet;
+                }
+            }
+        }
+        return alexaSpeechlet;
+    }
+
+    /**
+     * Creates the request handler verifying the supported application-ids on the first request.
+     */
+    private AlexaSpeechletRequestHandler getOrCreateRequestHandler() {
+        AlexaSpeechletRequestHandler handler = requestHandler;
+        if (handler == null) {
+            synchronized (this) {
+                handler = requestHandler;
+                if (handler == null) {
+                    handler = getRequestStreamHandler();
+                    requestHandler = handler;
+                }
+            }
+        }
+        return handler;
+    }
+
     /**
      * Provides a set of application-id(s) you can find in the Alexa developer console of your skill.
      * Only requests coming in with these application-id(s) pass the request verification.
@@ -76,17 +113,16 @@ public abstract class AlexaRequestStreamHandler implements RequestStreamHandler
      * @param input the input stream containing the Lambda request payload
      * @param output the output stream containing the Lambda response payload
      * @param context a context for a Lambda execution.
-     * @throws IOException exception is thrown on invalid request payload or on a provided speechlet
-     * handler having no public constructor taking a String containing the locale
+     * @throws IOException exception is thrown on invalid request payload or on a request or response
+     * not passing verification
      */
     @Override
     public void handleRequest(final InputStream input, final OutputStream output, final Context context) throws IOException {
-        byte[] serializedSpeechletRequest = IOUtils.toByteArray(input);
-        final AlexaSpeechlet speechlet = AlexaSpeechletFactory.createSpeechletFromRequest(serializedSpeechletRequest, getSpeechlet(), getUtteranceReader());
-        final SpeechletRequestHandler handler = getRequestStreamHandler();
+        final AlexaSpeechletRequestHandler handler = getOrCreateRequestHandler();
+        final AlexaSpeechlet alexaSpeechlet = getOrCreateSpeechlet();
+        final SpeechletRequestEnvelope<?> requestEnvelope = TellaskJson.readRequestEnvelope(input);
         try {
-            byte[] outputBytes = handler.handleSpeechletCall(speechlet, serializedSpeechletRequest);
-            output.write(outputBytes);
+            handler.handleSpeechletCall(alexaSpeechlet, requestEnvelope, output);
         } catch (SpeechletRequestHandlerException | SpeechletException e) {
             // wrap actual exception in expected IOException
             throw new IOException(e);
@@ -97,17 +133,15 @@ public abstract class AlexaRequestStreamHandler implements RequestStreamHandler
      * Constructs the stream handler giving it all the provided information.
      * @return stream handler
      */
-    private SpeechletRequestHandler getRequestStreamHandler() {
+    private AlexaSpeechletRequestHandler getRequestStreamHandler() {
         final Set<String> supportedApplicationIds = getSupportedApplicationIds();
         // at least one supported application-id need to be provided
         Validate.notEmpty(supportedApplicationIds, "Must provide supported application-id either with overriding the getter or using AlexaApplication-annotation in " + this.getClass().getSimpleName());
 
-        return new SpeechletRequestHandler(
+        return new AlexaSpeechletRequestHandler(
                 Collections.singletonList(
-                        new ApplicationIdSpeechletRequestVerifier(supportedApplicationIds)),
-                Arrays.asList(
-                        new ResponseSizeSpeechletResponseVerifier(),
-                        new OutputSpeechSpeechletResponseVerifier(),
-                        new CardSpeechletResponseVerifier()));
+                        new ApplicationIdSpeechletRequestEnvelopeVerifier(supportedApplicationIds)),
+                // size of the response is checked while it is serialized
+                AlexaSpeechletRequestHandler.newDefaultResponseVerifiers());
     }
 }
@@ -0,0 +1,86 @@
+/**
+ * Created by Kay Lerch (https://twitter.com/KayLerch)
+ *
+ * Contribute to https://github.com/KayLerch/alexa-skills-kit-tellask-java
+ *
+ * Attached license applies.
+ * This source is licensed under GNU GENERAL PUBLIC LICENSE Version 3 as of 29 June 2007
+ */
+package io.klerch.alexa.tellask.model.wrapper;
+
+import java.io.ByteArrayOutputStream;
+
+/**
+ * A buffer a speechlet response is serialized into before it is written out. There is
+ * one buffer per thread which is reused for all the responses created by this thread.
+ * The buffer holds no more than a given number of bytes. Once a response exceeds it
+ * the remaining bytes are dropped and the buffer is marked as exceeded.
+ */
+final class AlexaResponseBuffer extends ByteArrayOutputStream {
+    private static final int INITIAL_CAPACITY = 4 * 1024;
+    /**
+     * Buffers which grew above this capacity for a single large response are not kept.
+     */
+    private static final int MAX_RETAINED_CAPACITY = 64 * 1024;
+    private static final ThreadLocal<AlexaResponseBuffer> BUFFERS = ThreadLocal.withInitial(AlexaResponseBuffer::new);
+
+    private int limit = Integer.MAX_VALUE;
+    private boolean limitExceeded;
+
+    private AlexaResponseBuffer() {
+        super(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Returns the empty buffer of the current thread. Its contents are only valid until
+     * the buffer is obtained the next time by the same thread.
+     * @param limit maximum number of bytes the buffer holds
+     * @return empty buffer of the current thread
+     */
+    static AlexaResponseBuffer get(final int limit) {
+        AlexaResponseBuffer buffer = BUFFERS.get();
+        if (buffer.buf.length > MAX_RETAINED_CAPACITY) {
+            buffer = new AlexaResponseBuffer();
+            BUFFERS.set(buffer);
+        }
+        buffer.reset();
+        buffer.limit = limit;
+        return buffer;
+    }
+
+    /**
+     * Returns if more bytes than the limit were written to this buffer since it was obtained.
+     * The buffer then only contains the portion of the bytes written before the limit was reached.
+     * @return true if the limit was exceeded
+     */
+    boolean isLimitExceeded() {
+        return limitExceeded;
+    }
+
+    @Override
+    public synchronized void write(final int b) {
+        if (fits(1)) {
+            super.write(b);
+        }
+    }
+
+    @Override
+    public synchronized void write(final byte[] b, final int off, final int len) {
+        if (fits(len)) {
+            super.write(b, off, len);
+        }
+    }
+
+    @Override
+    public synchronized void reset() {
+        super.reset();
+        limitExceeded = false;
+    }
+
+    private boolean fits(final int len) {
+        if (!limitExceeded && len > limit - count) {
+            limitExceeded = true;
+        }
+        return !limitExceeded;
+    }
+}
@@ -18,13 +18,17 @@ import io.klerch.alexa.tellask.schema.AlexaIntentHandler;
 import io.klerch.alexa.tellask.schema.AlexaLaunchHandler;
 import io.klerch.alexa.tellask.schema.AlexaRequestHandler;
 import io.klerch.alexa.tellask.schema.UtteranceReader;
+import io.klerch.alexa.tellask.schema.VariantSelector;
 import io.klerch.alexa.tellask.util.factory.AlexaIntentHandlerFactory;
+import io.klerch.alexa.tellask.util.factory.AlexaSpeechletFactory;
 import io.klerch.alexa.tellask.util.factory.AlexaLaunchHandlerFactory;
 import io.klerch.alexa.tellask.util.AlexaRequestHandlerException;
+import io.klerch.alexa.tellask.util.resource.RandomVariantSelector;
 import org.apache.commons.lang3.Validate;
 import org.apache.log4j.Logger;
 
-import java.util.function.Consumer;
+import java.util.Locale;
+import java.util.Optional;
 
 /**
  * The AlexaSpeechlet is the actual handler of incoming speechlet requests. It is
@@ -32,29 +36,32 @@ import java.util.function.Consumer;
  * need your own extension of this class as this one already gets back to all the handlers
  * annotated with either AlexaLaunchListener or AlexaIntentListener. Most likely you want
  * to override onSessionStarted and onSessionEnded to have your own routines implemented.
+ * Everything related to a request is kept in an AlexaInput which lives as long as the
+ * request so one speechlet can handle concurrent requests. If you extend this class make
+ * sure your speechlet does not keep state of a request in its fields either.
+ * Utterances are read out in the locale of each request. The locale given on construction
+ * only applies to requests not providing a locale.
  */
 public class AlexaSpeechlet implements SpeechletV2 {
     private static final Logger LOG = Logger.getLogger(AlexaSpeechlet.class);
+    private static final VariantSelector RANDOM_VARIANT_SELECTOR = new RandomVariantSelector();
     private final String locale;
     private final UtteranceReader utteranceReader;
-    private AlexaInput input;
 
-    private final Consumer<AlexaIntentModel> saveModelState = model -> {
-        try {
-            // ensure model has a handler. by default choose the session state handler
-            if (model.getHandler() == null) {
-                input.getSessionStateHandler().writeModel(model.getModel());
-            } else {
-                model.saveState();
-            }
-        } catch (final AlexaStateException e) {
-            LOG.error("Error while saving state of a model.", e);
-        }
-    };
+    /**
+     * A new extended speechlet handler. It does not keep any state of a request so
+     * one instance can handle any number of requests at the same time. The locale is
+     * taken from each request.
+     * @param utteranceReader the reader to use when reading out utterances
+     */
+    public AlexaSpeechlet(final UtteranceReader utteranceReader) {
+        this(AlexaSpeechletFactory.DEFAULT_LOCALE, utteranceReader);
+    }
 
     /**
-     * A new extended speechlet handler working in the context of a locale
-     * @param locale the locale provided by the speechlet request
+     * A new extended speechlet handler with a fallback locale.
+     * @param locale the locale to use for requests not providing a locale. It is overridden
+     *               by the locale of a request whenever the request provides one.
      * @param utteranceReader the reader to use when reading out utterances
      */
     public AlexaSpeechlet(final String locale, final UtteranceReader utteranceReader) {
@@ -76,9 +83,9 @@ public class AlexaSpeechlet implements SpeechletV2 {
      */
     @Override
     public SpeechletResponse onLaunch(SpeechletRequestEnvelope<LaunchRequest> envelope) {
-        input = new AlexaInput(envelope.getRequest(), envelope.getSession(), locale, envelope.getContext());
+        final AlexaInput input = new AlexaInput(envelope.getRequest(), envelope.getSession(), getLocale(envelope), envelope.getContext());
         final AlexaLaunchHandler handler = AlexaLaunchHandlerFactory.createHandler().orElse(null);
-        return handleRequest(handler);
+        return handleRequest(handler, input);
     }
 
     /**
@@ -86,9 +93,9 @@ public class AlexaSpeechlet implements SpeechletV2 {
      */
     @Override
     public SpeechletResponse onIntent(SpeechletRequestEnvelope<IntentRequest> envelope) {
-        input = new AlexaInput(envelope.getRequest(), envelope.getSession(), locale, envelope.getContext());
+        final AlexaInput input = new AlexaInput(envelope.getRequest(), envelope.getSession(), getLocale(envelope), envelope.getContext());
         final AlexaIntentHandler handler = AlexaIntentHandlerFactory.createHandler(input).orElse(null);
-        return handleRequest(handler);
+        return handleRequest(handler, input);
     }
 
     /**
@@ -99,29 +106,63 @@ public class AlexaSpeechlet implements SpeechletV2 {
         LOG.debug("Session has ended.");
     }
 
-    private AlexaSpeechletResponse handleRequest(final AlexaRequestHandler handler) {
+    /**
+     * Returns the selector picking utterances and phrases of multi-phrases when a
+     * response is rendered. By default they are picked randomly. Override this method
+     * to have e.g. a SeededVariantSelector for reproducible responses. The selector is
+     * obtained once per request and may be used by concurrent requests, so it needs to
+     * be thread-safe.
+     * @return the selector picking utterances and phrases of multi-phrases
+     */
+    protected VariantSelector getVariantSelector() {
+        return RANDOM_VARIANT_SELECTOR;
+    }
+
+    private String getLocale(final SpeechletRequestEnvelope<?> envelope) {
+        return Optional.ofNullable(envelope.getRequest())
+                .map(SpeechletRequest::getLocale)
+                .map(Locale::toLanguageTag)
+                .orElse(locale);
+    }
+
+    private void saveModelState(final AlexaIntentModel model, final AlexaInput input) {
+        try {
+            // ensure model has a handler. by default choose the session state handler
+            if (model.getHandler() == null) {
+                input.getSessionStateHandler().writeModel(model.getModel());
+            } else {
+                model.saveState();
+            }
+        } catch (final AlexaStateException e) {
+            LOG.error("Error while saving state of a model.", e);
+        }
+    }
+
+    private AlexaSpeechletResponse handleRequest(final AlexaRequestHandler handler, final AlexaInput input) {
+        final String locale = input.getLocale();
+        final VariantSelector variantSelector = getVariantSelector();
         AlexaSpeechletResponse response;
 
         try {
             final AlexaOutput output = handler.handleRequest(input);
             // save state of all models
-            output.getModels().stream().forEach(saveModelState);
+            output.getModels().stream().forEach(model -> saveModelState(model, input));
             // generate speechlet response from settings returned by the intent handler and
             // contents of YAML utterance file
-            response = new AlexaSpeechletResponse(output, utteranceReader, locale);
+            response = new AlexaSpeechletResponse(output, utteranceReader, locale, variantSelector);
         } catch (final AlexaRequestHandlerException e) {
             final AlexaRequestHandlerException exception = e.getInput() == null ?
                     new AlexaRequestHandlerException(e.getMessage(), e.getCause(), input, e.getErrorIntent()) : e;
             LOG.error("Error while handling an intent.", exception);
-            response = new AlexaSpeechletResponse(handler.handleError(exception), utteranceReader, locale);
+            response = new AlexaSpeechletResponse(handler.handleError(exception), utteranceReader, locale, variantSelector);
         } catch (final AlexaStateException e) {
             final AlexaRequestHandlerException exception = new AlexaRequestHandlerException("Error while handling state.", e, input, null);
             LOG.error(exception);
-            response = new AlexaSpeechletResponse(handler.handleError(exception), utteranceReader, locale);
+            response = new AlexaSpeechletResponse(handler.handleError(exception), utteranceReader, locale, variantSelector);
         } catch (final Exception e) {
             final AlexaRequestHandlerException exception = new AlexaRequestHandlerException("General error occured.", e, input, null);
             LOG.error(exception);
-            response = new AlexaSpeechletResponse(handler.handleError(exception), utteranceReader, locale);
+            response = new AlexaSpeechletResponse(handler.handleError(exception), utteranceReader, locale, variantSelector);
         }
         return response;
     }
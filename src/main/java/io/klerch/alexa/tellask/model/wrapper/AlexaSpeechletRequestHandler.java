@@ -0,0 +1,151 @@
+/**
+ * Created by Kay Lerch (https://twitter.com/KayLerch)
+ *
+ * Contribute to https://github.com/KayLerch/alexa-skills-kit-tellask-java
+ *
+ * Attached license applies.
+ * This source is licensed under GNU GENERAL PUBLIC LICENSE Version 3 as of 29 June 2007
+ */
+package io.klerch.alexa.tellask.model.wrapper;
+
+import com.amazon.speech.json.SpeechletRequestEnvelope;
+import com.amazon.speech.json.SpeechletResponseEnvelope;
+import com.amazon.speech.speechlet.*;
+import com.amazon.speech.speechlet.verifier.CardSpeechletResponseVerifier;
+import com.amazon.speech.speechlet.verifier.OutputSpeechSpeechletResponseVerifier;
+import com.amazon.speech.speechlet.verifier.SpeechletRequestEnvelopeVerifier;
+import com.amazon.speech.speechlet.verifier.SpeechletResponseVerifier;
+import io.klerch.alexa.tellask.util.TellaskJson;
+import org.apache.commons.lang3.Validate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Handles speechlet requests just like the SpeechletRequestHandler of the Alexa Skills Kit
+ * but it is given a request envelope which was already deserialized. As the locale of a request
+ * is needed to create the AlexaSpeechlet the request is deserialized only once and the resulting
+ * envelope is shared between creating the speechlet and handling the request.
+ */
+public class AlexaSpeechletRequestHandler {
+    /**
+     * Maximum size in bytes of a serialized speechlet response accepted by the Alexa service.
+     */
+    public static final int MAX_RESPONSE_SIZE = 24 * 1024;
+
+    private final List<SpeechletRequestEnvelopeVerifier> requestEnvelopeVerifiers;
+    private final List<SpeechletResponseVerifier> responseVerifiers;
+
+    /**
+     * Creates a request handler verifying incoming requests with the given verifiers.
+     * @param requestEnvelopeVerifiers verifiers a request envelope needs to pass before it is handled
+     */
+    public AlexaSpeechletRequestHandler(final List<SpeechletRequestEnvelopeVerifier> requestEnvelopeVerifiers) {
+        this(requestEnvelopeVerifiers, Collections.emptyList());
+    }
+
+    /**
+     * Creates a request handler verifying incoming requests and outgoing responses with
+     * the given verifiers.
+     * @param requestEnvelopeVerifiers verifiers a request envelope needs to pass before it is handled
+     * @param responseVerifiers verifiers a response needs to pass before it is returned
+     */
+    public AlexaSpeechletRequestHandler(final List<SpeechletRequestEnvelopeVerifier> requestEnvelopeVerifiers, final List<SpeechletResponseVerifier> responseVerifiers) {
+        Validate.notNull(requestEnvelopeVerifiers, "List of request verifiers must not be null.");
+        Validate.notNull(responseVerifiers, "List of response verifiers must not be null.");
+        this.requestEnvelopeVerifiers = Collections.unmodifiableList(new ArrayList<>(requestEnvelopeVerifiers));
+        this.responseVerifiers = Collections.unmodifiableList(new ArrayList<>(responseVerifiers));
+    }
+
+    /**
+     * Creates the verifiers the Alexa Skills Kit runs on each response of a speechlet. These
+     * are the verifiers for output speech and cards.
+     * @return new instances of the verifiers the Alexa Skills Kit runs on each response
+     */
+    public static List<SpeechletResponseVerifier> newDefaultResponseVerifiers() {
+        return Arrays.asList(
+                new OutputSpeechSpeechletResponseVerifier(),
+                new CardSpeechletResponseVerifier());
+    }
+
+    List<SpeechletResponseVerifier> getResponseVerifiers() {
+        return responseVerifiers;
+    }
+
+    /**
+     * Verifies the request envelope, dispatches it to the speechlet and returns the
+     * verified response serialized to JSON.
+     * @param speechlet the speechlet handling the request
+     * @param requestEnvelope the deserialized speechlet request
+     * @return bytes of the serialized speechlet response
+     * @throws IOException thrown when the response could not be serialized
+     * @throws SpeechletRequestHandlerException thrown when the request or response did not pass verification or the response exceeds MAX_RESPONSE_SIZE
+     * @throws SpeechletException thrown by the speechlet while handling the request
+     */
+    public byte[] handleSpeechletCall(final SpeechletV2 speechlet, final SpeechletRequestEnvelope<?> requestEnvelope)
+            throws IOException, SpeechletRequestHandlerException, SpeechletException {
+        return serializeSpeechletCall(speechlet, requestEnvelope).toByteArray();
+    }
+
+    /**
+     * Verifies the request envelope, dispatches it to the speechlet and writes the
+     * verified response serialized to JSON into the given stream. Nothing is written
+     * if the request fails.
+     * @param speechlet the speechlet handling the request
+     * @param requestEnvelope the deserialized speechlet request
+     * @param output the stream to write the serialized speechlet response to
+     * @throws IOException thrown when the response could not be serialized or written
+     * @throws SpeechletRequestHandlerException thrown when the request or response did not pass verification or the response exceeds MAX_RESPONSE_SIZE
+     * @throws SpeechletException thrown by the speechlet while handling the request
+     */
+    public void handleSpeechletCall(final SpeechletV2 speechlet, final SpeechletRequestEnvelope<?> requestEnvelope, final OutputStream output)
+            throws IOException, SpeechletRequestHandlerException, SpeechletException {
+        serializeSpeechletCall(speechlet, requestEnvelope).writeTo(output);
+    }
+
+    /**
+     * Handles the request and serializes the response only once into the buffer of the current
+     * thread. The size of the response is checked against the maximum size the Alexa service
+     * accepts while it is serialized. A response exceeding it is rejected as the Alexa service
+     * would reject it anyway.
+     */
+    AlexaResponseBuffer serializeSpeechletCall(final SpeechletV2 speechlet, final SpeechletRequestEnvelope<?> requestEnvelope)
+            throws IOException, SpeechletRequestHandlerException, SpeechletException {
+        final SpeechletRequest request = requestEnvelope.getRequest();
+        final Session session = requestEnvelope.getSession();
+
+        for (final SpeechletRequestEnvelopeVerifier verifier : requestEnvelopeVerifiers) {
+            if (!verifier.verify(requestEnvelope)) {
+                throw new SpeechletRequestHandlerException(String.format(
+                        "Could not validate SpeechletRequest %s using verifier %s, rejecting request",
+                        request != null ? request.getRequestId() : "null", verifier.getClass().getSimpleName()));
+            }
+        }
+
+        final SpeechletResponseEnvelope responseEnvelope = new SpeechletRequestDispatcher(speechlet)
+                .dispatchSpeechletCall(requestEnvelope, session);
+
+        for (final SpeechletResponseVerifier verifier : responseVerifiers) {
+            if (!verifier.verify(responseEnvelope, session)) {
+                throw new SpeechletRequestHandlerException(String.format(
+                        "Could not validate SpeechletResponse %s using verifier %s, rejecting response",
+                        request != null ? request.getRequestId() : "null", verifier.getClass().getSimpleName()));
+            }
+        }
+
+        // the buffer stops taking bytes once the response exceeds the maximum size
+        final AlexaResponseBuffer buffer = AlexaResponseBuffer.get(MAX_RESPONSE_SIZE);
+        TellaskJson.writeResponseEnvelope(responseEnvelope, buffer);
+
+        if (buffer.isLimitExceeded()) {
+            throw new SpeechletRequestHandlerException(String.format(
+                    "SpeechletResponse %s exceeds the maximum allowed size of %d bytes, rejecting response",
+                    request != null ? request.getRequestId() : "null", MAX_RESPONSE_SIZE));
+        }
+        return buffer;
+    }
+}
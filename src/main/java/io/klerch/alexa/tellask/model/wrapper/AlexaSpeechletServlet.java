@@ -9,22 +9,32 @@
 package io.klerch.alexa.tellask.model.wrapper;
 
 import com.amazon.speech.Sdk;
+import com.amazon.speech.json.SpeechletRequestEnvelope;
 import com.amazon.speech.speechlet.Speechlet;
+import com.amazon.speech.speechlet.SpeechletRequestHandlerException;
+import com.amazon.speech.speechlet.SpeechletV2;
+import com.amazon.speech.speechlet.authentication.SpeechletRequestSignatureVerifier;
 import com.amazon.speech.speechlet.servlet.SpeechletServlet;
+import com.amazon.speech.speechlet.verifier.ApplicationIdSpeechletRequestEnvelopeVerifier;
+import com.amazon.speech.speechlet.verifier.SpeechletRequestEnvelopeVerifier;
+import com.amazon.speech.speechlet.verifier.SpeechletRequestVerifierWrapper;
+import com.amazon.speech.speechlet.verifier.TimestampSpeechletRequestVerifier;
 import io.klerch.alexa.state.handler.AlexaStateHandler;
 import io.klerch.alexa.tellask.schema.UtteranceReader;
 import io.klerch.alexa.tellask.schema.annotation.AlexaApplication;
+import io.klerch.alexa.tellask.util.TellaskJson;
 import io.klerch.alexa.tellask.util.factory.AlexaSpeechletFactory;
 import io.klerch.alexa.tellask.util.resource.ResourceUtteranceReader;
-import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.Validate;
+import org.apache.log4j.Logger;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
-import java.util.Arrays;
-import java.util.Collections;
-import java.util.Set;
+import java.io.OutputStream;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -35,10 +45,17 @@ import java.util.stream.Stream;
  * getters
  */
 public abstract class AlexaSpeechletServlet extends SpeechletServlet {
+    private static final Logger LOG = Logger.getLogger(AlexaSpeechletServlet.class);
+    private final boolean disableRequestSignatureCheck;
+    private final AlexaSpeechletRequestHandler speechletRequestHandler;
+    private transient volatile AlexaSpeechlet alexaSpeechlet;
+
     /**
      * When this servlet is created it obtains supported application ids from overridden getter
      * or AlexaApplication-annotation and joins this set of ids with supported application ids
-     * configured in system property 'com.amazon.speech.speechlet.servlet.supportedApplicationIds'
+     * configured in system property 'com.amazon.speech.speechlet.servlet.supportedApplicationIds'.
+     * The speechlet is created once on the first request. As the speechlet does not keep state of a
+     * request it serves all the requests coming in to this servlet at the same time.
      */
     public AlexaSpeechletServlet() {
         super();
@@ -55,6 +72,57 @@ public abstract class AlexaSpeechletServlet extends SpeechletServlet {
             // update system property with appended application ids provided by this servlet
             System.setProperty(Sdk.SUPPORTED_APPLICATION_IDS_SYSTEM_PROPERTY, String.join(",", customSupportedApplicationIds));
         }
+        this.disableRequestSignatureCheck = Boolean.parseBoolean(System.getProperty(Sdk.DISABLE_REQUEST_SIGNATURE_CHECK_SYSTEM_PROPERTY));
+        // responses are verified like the SpeechletServlet does while their size is checked on serialization
+        this.speechletRequestHandler = new AlexaSpeechletRequestHandler(getRequestEnvelopeVerifiers(),
+                AlexaSpeechletRequestHandler.newDefaultResponseVerifiers());
+    }
+
+    AlexaSpeechletRequestHandler getSpeechletRequestHandler() {
+        return speechletRequestHandler;
+    }
+
+    /**
+     * Creates the speechlet on the first request. Overridden getters of subclasses are
+     * fully initialized by then.
+     */
+    private AlexaSpeechlet getOrCreateSpeechlet() throws IOException {
+        AlexaSpeechlet speechlet = alexaSpeechlet;
+        if (speechlet == null) {
+            synchronized (this) {
+                speechlet = alexaSpeechlet;
+                if (speechlet == null) {
+                    speechlet = AlexaSpeechletFactory.getSpeechlet(getAlexaSpeechlet(), getUtteranceReader());
+                    setSpeechlet(speechlet);
+                }
+            }
+        }
+        return speechlet;
+    }
+
+    /**
+     * Verifies requests the same way the SpeechletServlet does. Supported application-ids
+     * and the timestamp tolerance are taken from the system properties.
+     */
+    private static List<SpeechletRequestEnvelopeVerifier> getRequestEnvelopeVerifiers() {
+        final List<SpeechletRequestEnvelopeVerifier> verifiers = new ArrayList<>();
+
+        final String supportedApplicationIds = System.getProperty(Sdk.SUPPORTED_APPLICATION_IDS_SYSTEM_PROPERTY);
+        verifiers.add(new ApplicationIdSpeechletRequestEnvelopeVerifier(StringUtils.isBlank(supportedApplicationIds) ?
+                Collections.emptySet() : new HashSet<>(Arrays.asList(supportedApplicationIds.split(",")))));
+
+        final String timestampTolerance = System.getProperty(Sdk.TIMESTAMP_TOLERANCE_SYSTEM_PROPERTY);
+        if (StringUtils.isBlank(timestampTolerance)) {
+            LOG.warn("No timestamp tolerance has been configured, disabling timestamp verification");
+        } else {
+            try {
+                verifiers.add(new SpeechletRequestVerifierWrapper(
+                        new TimestampSpeechletRequestVerifier(Long.parseLong(timestampTolerance), TimeUnit.SECONDS)));
+            } catch (final NumberFormatException e) {
+                LOG.warn("The configured timestamp tolerance " + timestampTolerance + " is invalid, disabling timestamp verification");
+            }
+        }
+        return verifiers;
     }
 
     /**
@@ -106,19 +174,66 @@ public abstract class AlexaSpeechletServlet extends SpeechletServlet {
         super.setSpeechlet(speechlet);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public final void setSpeechlet(final SpeechletV2 speechlet) {
+        // enforce speechlet which extends AlexaSpeechlet
+        Validate.isInstanceOf(AlexaSpeechlet.class, speechlet, "Servlet expects a speechlet extending AlexaSpeechlet.");
+        super.setSpeechlet(speechlet);
+        this.alexaSpeechlet = (AlexaSpeechlet) speechlet;
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
     protected void doPost(final HttpServletRequest request, final HttpServletResponse response)
             throws IOException {
-        // wrap servlet request as we need to read from it before it is read a second time in super doPost
-        final AlexaHttpServletRequest wrapper = new AlexaHttpServletRequest(request);
-        // intervene post to extract locale but also to override the speechlet
-        byte[] serializedSpeechletRequest = IOUtils.toByteArray(wrapper.getInputStream());
-        final AlexaSpeechlet speechlet = AlexaSpeechletFactory.createSpeechletFromRequest(serializedSpeechletRequest, getAlexaSpeechlet(), getUtteranceReader());
-        // override speechlet with AlexaSpeechlet
-        setSpeechlet(speechlet);
-        super.doPost(wrapper, response);
+        // reject bodies announced too large before reading anything
+        if (request.getContentLength() > AlexaHttpServletRequest.MAX_BODY_SIZE) {
+            LOG.error("Request body of " + request.getContentLength() + " bytes exceeds the maximum size, returning status code " + HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE);
+            response.sendError(HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE);
+            return;
+        }
+        // read out the raw bytes only once for both the signature check and deserialization
+        final byte[] serializedSpeechletRequest;
+        try {
+            serializedSpeechletRequest = new AlexaHttpServletRequest(request).getBody();
+        } catch (final IOException e) {
+            LOG.error("Could not read request body, returning status code " + HttpServletResponse.SC_BAD_REQUEST, e);
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, e.getMessage());
+            return;
+        }
+        final AlexaResponseBuffer responseBuffer;
+
+        try {
+            if (disableRequestSignatureCheck) {
+                LOG.warn("Warning: Speechlet request signature verification has been disabled!");
+            } else {
+                SpeechletRequestSignatureVerifier.checkRequestSignature(serializedSpeechletRequest,
+                        request.getHeader(Sdk.SIGNATURE_REQUEST_HEADER),
+                        request.getHeader(Sdk.SIGNATURE_CERTIFICATE_CHAIN_URL_REQUEST_HEADER));
+            }
+            final SpeechletRequestEnvelope<?> requestEnvelope = TellaskJson.readRequestEnvelope(serializedSpeechletRequest);
+            responseBuffer = speechletRequestHandler.serializeSpeechletCall(getOrCreateSpeechlet(), requestEnvelope);
+        } catch (final SpeechletRequestHandlerException | SecurityException e) {
+            LOG.error("Exception occurred in doPost, returning status code " + HttpServletResponse.SC_BAD_REQUEST, e);
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, e.getMessage());
+            return;
+        } catch (final Exception e) {
+            LOG.error("Exception occurred in doPost, returning status code " + HttpServletResponse.SC_INTERNAL_SERVER_ERROR, e);
+            response.sendError(HttpServletResponse.SC_INTERNAL_SERVER_ERROR, e.getMessage());
+            return;
+        }
+
+        // generate JSON and send back the response
+        response.setContentType("application/json");
+        response.setStatus(HttpServletResponse.SC_OK);
+        try (final OutputStream out = response.getOutputStream()) {
+            response.setContentLength(responseBuffer.size());
+            responseBuffer.writeTo(out);
+        }
     }
 }
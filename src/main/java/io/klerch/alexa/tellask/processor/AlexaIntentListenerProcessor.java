@@ -12,6 +12,7 @@ import com.google.auto.service.AutoService;
 import com.squareup.javapoet.*;
 import io.klerch.alexa.tellask.model.AlexaInput;
 import io.klerch.alexa.tellask.schema.AlexaIntentHandler;
+import io.klerch.alexa.tellask.schema.AlexaIntentHandlerProvider;
 import io.klerch.alexa.tellask.schema.annotation.AlexaIntentListener;
 import io.klerch.alexa.tellask.schema.type.AlexaIntentType;
 import io.klerch.alexa.tellask.util.factory.AlexaIntentHandlerFactory;
@@ -37,46 +38,61 @@ import java.util.stream.Collectors;
  * encapsulating the logic of returning an instance of an AlexaIntentHandler
  * according to an AlexaInput having the intent name. The factory also calls
  * the verify-method of the AlexaIntentHandler which should return true in order
- * to be considered by the factory.
+ * to be considered by the factory. The factory implements AlexaIntentHandlerProvider
+ * so it is called directly instead of over reflection. Handlers in singleton scope
+ * are instantiated once on first use and kept in holder classes of the factory.
  */
 @AutoService(Processor.class)
 @SupportedSourceVersion(SourceVersion.RELEASE_8)
 public class AlexaIntentListenerProcessor extends AbstractProcessor {
     private static final Logger LOG = Logger.getLogger(AlexaIntentListenerProcessor.class);
 
+    private static final String DISPATCH_METHOD_PREFIX = "createHandlerFor";
+    private static final String ANY_INTENT_METHOD_NAME = DISPATCH_METHOD_PREFIX + "AnyIntent";
+
     private ProcessingEnvironment processingEnvironment;
+    private final Map<TypeElement, TypeSpec> singletonHolders = new LinkedHashMap<>();
 
     private Function<TypeElement, CodeBlock> generateCode = (final TypeElement element) -> {
         final ClassName handlerClass = ClassName.get(element);
+        final CodeBlock preconditions = generatePreconditions(element.getAnnotation(AlexaIntentListener.class));
+        final CodeBlock.Builder codeBuilder = CodeBlock.builder();
 
-        final List<AlexaIntentType> builtInIntents = Arrays.asList(element.getAnnotation(AlexaIntentListener.class).builtInIntents());
+        // the handler is only considered if the slots in the input meet the preconditions
+        if (preconditions.isEmpty()) {
+            codeBuilder.add("{\n$>");
+        } else {
+            codeBuilder.add("if ($L) {\n$>", preconditions);
+        }
 
-        // if the wildcard-intent "any" is found
-        if (builtInIntents.contains(AlexaIntentType.INTENT_ANY)) {
-            // the intent doesn't need to match the actual intent name
-            return CodeBlock.of("{final " + AlexaIntentHandler.class.getSimpleName() + " handler = new $T();" +
-                    "if (handler.verify(input)) return handler;}", handlerClass);
+        // singletons are taken from their holder, any other handler is instantiated per request
+        if (singletonHolders.containsKey(element)) {
+            codeBuilder.addStatement("final $T handler = $N.$L()", AlexaIntentHandler.class, singletonHolders.get(element), SingletonHandlers.GETTER_NAME);
+        } else {
+            codeBuilder.addStatement("final $T handler = new $T()", AlexaIntentHandler.class, handlerClass);
         }
+        // returns the handler in case its verify-method agrees
+        return codeBuilder
+                .addStatement("if (handler.verify(input)) return handler")
+                .add("$<}\n")
+                .build();
+    };
+
+    private Predicate<TypeElement> isSingleton = (final TypeElement t) ->
+            SingletonHandlers.isSingleton(processingEnvironment, t, t.getAnnotation(AlexaIntentListener.class).scope(), AlexaIntentListener.class);
+
+    private Predicate<TypeElement> listensForAnyIntent = (final TypeElement element) ->
+            Arrays.asList(element.getAnnotation(AlexaIntentListener.class).builtInIntents()).contains(AlexaIntentType.INTENT_ANY);
 
+    private Function<TypeElement, Set<String>> getIntentNames = (final TypeElement element) -> {
         // get custom intents to listen for
-        final List<String> intents = Arrays.stream(element.getAnnotation(AlexaIntentListener.class).customIntents()).collect(Collectors.toList());
+        final Set<String> intents = new LinkedHashSet<>(Arrays.asList(element.getAnnotation(AlexaIntentListener.class).customIntents()));
 
         // join with built-in intents to listen for
-        builtInIntents.stream()
+        Arrays.stream(element.getAnnotation(AlexaIntentListener.class).builtInIntents())
                 .map(AlexaIntentType::getName)
                 .forEach(intents::add);
-
-        final String intentNames = String.join(", ",
-                intents.stream()
-                        .map(name -> "\"" + name + "\"")
-                        .collect(Collectors.toList()));
-
-        // an if-statement checks for the intent-name and returns an instance of the corresponding handler
-        return CodeBlock.of("if(java.util.Arrays.asList(" + intentNames + ").contains(intentName))" +
-                "{" +
-                "final " + AlexaIntentHandler.class.getSimpleName() + " handler = new $T();" +
-                "if (handler.verify(input)) return handler;" +
-                "}", handlerClass);
+        return intents;
     };
 
     private Predicate<TypeElement> isConcretePublicClass = (final TypeElement t) -> {
@@ -142,12 +158,13 @@ public class AlexaIntentListenerProcessor extends AbstractProcessor {
         }
 
         final MethodSpec.Builder methodBuilder = MethodSpec.methodBuilder(AlexaIntentHandlerFactory.FACTORY_METHOD_NAME)
-                .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                .addAnnotation(Override.class)
+                .addModifiers(Modifier.PUBLIC)
                 .returns(AlexaIntentHandler.class)
                 .addParameter(AlexaInput.class, "input")
-                .addCode(CodeBlock.of("final String intentName = input.getIntentName();"));
+                .addStatement("final String intentName = input.getIntentName()");
 
-        final List<CodeBlock> codeBlocks = roundEnv.getElementsAnnotatedWith(AlexaIntentListener.class).stream()
+        final List<TypeElement> handlers = roundEnv.getElementsAnnotatedWith(AlexaIntentListener.class).stream()
                 // only interested in tagged classes
                 .filter(e -> e.getKind() == ElementKind.CLASS)
                 // cast as type
@@ -160,23 +177,64 @@ public class AlexaIntentListenerProcessor extends AbstractProcessor {
                 .filter(hasDefaultConstructor)
                 // sort descending by priority (important for multiple intent-handlers for same intent)
                 .sorted(byPriority)
-                // process for all valid classes having the AlexaIntentListener-annotation
-                .map(generateCode)
                 // to list
                 .collect(Collectors.toList());
 
-        if (codeBlocks.isEmpty()) {
+        if (handlers.isEmpty()) {
             return true;
-        } else {
-            codeBlocks.forEach(methodBuilder::addCode);
         }
 
-        // add one last lines which returns null in case of no intenthandler found
-        final MethodSpec method = methodBuilder.addCode("return null;").build();
+        // handlers in singleton scope are kept in holder classes
+        singletonHolders.clear();
+        final Set<String> holderNames = new HashSet<>();
+        handlers.stream()
+                .filter(isSingleton)
+                .forEach(handler -> singletonHolders.put(handler, SingletonHandlers.generateHolder(getSingletonHolderName(handler, holderNames), handler)));
+
+        // candidates per intent name keep the order of priority. handlers listening for any intent
+        // are candidates for all the intents and therefore are put in between at their priority
+        final Map<String, List<TypeElement>> candidatesByIntent = new LinkedHashMap<>();
+        handlers.stream()
+                .filter(listensForAnyIntent.negate())
+                .map(getIntentNames)
+                .flatMap(Set::stream)
+                .forEach(intentName -> candidatesByIntent.putIfAbsent(intentName, new ArrayList<>()));
+        candidatesByIntent.forEach((intentName, candidates) -> handlers.stream()
+                .filter(h -> listensForAnyIntent.test(h) || getIntentNames.apply(h).contains(intentName))
+                .forEach(candidates::add));
 
-        final TypeSpec alexaIntentHandlerFactory = TypeSpec.classBuilder(AlexaIntentHandlerFactory.FACTORY_CLASS_NAME)
+        final TypeSpec.Builder factoryBuilder = TypeSpec.classBuilder(AlexaIntentHandlerFactory.FACTORY_CLASS_NAME)
                 .addModifiers(Modifier.PUBLIC, Modifier.FINAL)
-                .addMethod(method)
+                .addSuperinterface(AlexaIntentHandlerProvider.class)
+                .addTypes(singletonHolders.values());
+
+        // handlers listening for any intent are generated only once. Any other intent is only handled by them
+        final List<TypeElement> anyIntentHandlers = handlers.stream()
+                .filter(listensForAnyIntent)
+                .collect(Collectors.toList());
+        final MethodSpec anyIntentMethod = generateAnyIntentMethod(anyIntentHandlers);
+        factoryBuilder.addMethod(anyIntentMethod);
+
+        // a switch on the intent name routes to a method only looking at the handlers listening for that intent.
+        // keeping the handlers out of the router keeps all methods small enough to get compiled by the JIT
+        // no matter how many handlers there are
+        if (!candidatesByIntent.isEmpty()) {
+            final Set<String> methodNames = new HashSet<>(Collections.singleton(ANY_INTENT_METHOD_NAME));
+            methodBuilder.beginControlFlow("if (intentName != null)");
+            methodBuilder.beginControlFlow("switch (intentName)");
+            candidatesByIntent.forEach((intentName, candidates) -> {
+                final MethodSpec intentMethod = generateDispatchMethod(getDispatchMethodName(intentName, methodNames), candidates, anyIntentMethod);
+                factoryBuilder.addMethod(intentMethod);
+                methodBuilder.addCode("case $S:\n$>", intentName)
+                        .addStatement("return $N(input)", intentMethod)
+                        .addCode("$<");
+            });
+            methodBuilder.endControlFlow();
+            methodBuilder.endControlFlow();
+        }
+
+        final TypeSpec alexaIntentHandlerFactory = factoryBuilder
+                .addMethod(methodBuilder.addStatement("return $N(input, 0, $L)", anyIntentMethod, anyIntentHandlers.size()).build())
                 .build();
 
         try {
@@ -190,4 +248,93 @@ public class AlexaIntentListenerProcessor extends AbstractProcessor {
         }
         return true;
     }
+
+    private MethodSpec generateDispatchMethod(final String methodName, final List<TypeElement> candidates, final MethodSpec anyIntentMethod) {
+        final MethodSpec.Builder methodBuilder = MethodSpec.methodBuilder(methodName)
+                .addModifiers(Modifier.PRIVATE)
+                .returns(AlexaIntentHandler.class)
+                .addParameter(AlexaInput.class, "input");
+        // candidates come in order of priority. handlers listening for any intent are in the same order
+        // as in the any-intent method, so each run of them is delegated to it with one call
+        int anyIntentIndex = 0;
+        int anyIntentRunStart = 0;
+        for (final TypeElement candidate : candidates) {
+            if (listensForAnyIntent.test(candidate)) {
+                anyIntentIndex++;
+            } else {
+                methodBuilder.addCode(generateAnyIntentCall(anyIntentMethod, anyIntentRunStart, anyIntentIndex));
+                anyIntentRunStart = anyIntentIndex;
+                methodBuilder.addCode(generateCode.apply(candidate));
+            }
+        }
+        methodBuilder.addCode(generateAnyIntentCall(anyIntentMethod, anyIntentRunStart, anyIntentIndex));
+        // add one last lines which returns null in case of no intenthandler found
+        return methodBuilder.addStatement("return null").build();
+    }
+
+    private MethodSpec generateAnyIntentMethod(final List<TypeElement> anyIntentHandlers) {
+        final MethodSpec.Builder methodBuilder = MethodSpec.methodBuilder(ANY_INTENT_METHOD_NAME)
+                .addModifiers(Modifier.PRIVATE)
+                .returns(AlexaIntentHandler.class)
+                .addParameter(AlexaInput.class, "input")
+                .addParameter(int.class, "from")
+                .addParameter(int.class, "to");
+        // only the handlers within the given range of indexes are considered
+        for (int i = 0; i < anyIntentHandlers.size(); i++) {
+            methodBuilder.beginControlFlow("if (from <= $L && $L < to)", i, i)
+                    .addCode(generateCode.apply(anyIntentHandlers.get(i)))
+                    .endControlFlow();
+        }
+        return methodBuilder.addStatement("return null").build();
+    }
+
+    private CodeBlock generateAnyIntentCall(final MethodSpec anyIntentMethod, final int from, final int to) {
+        if (from == to) {
+            return CodeBlock.builder().build();
+        }
+        return CodeBlock.builder()
+                .add("{\n$>")
+                .addStatement("final $T handler = $N(input, $L, $L)", AlexaIntentHandler.class, anyIntentMethod, from, to)
+                .addStatement("if (handler != null) return handler")
+                .add("$<}\n")
+                .build();
+    }
+
+    private String getDispatchMethodName(final String intentName, final Set<String> methodNames) {
+        // intent names like AMAZON.HelpIntent are turned into valid java identifiers
+        final String name = DISPATCH_METHOD_PREFIX + intentName.replaceAll("[^A-Za-z0-9_]", "_");
+        String methodName = name;
+        for (int i = 2; !methodNames.add(methodName); i++) {
+            methodName = name + i;
+        }
+        return methodName;
+    }
+
+    private String getSingletonHolderName(final TypeElement handler, final Set<String> holderNames) {
+        final String name = handler.getSimpleName() + "Holder";
+        String holderName = name;
+        for (int i = 2; !holderNames.add(holderName); i++) {
+            holderName = name + i;
+        }
+        return holderName;
+    }
+
+    private CodeBlock generatePreconditions(final AlexaIntentListener listener) {
+        final List<CodeBlock> conditions = new ArrayList<>();
+        Arrays.stream(listener.requiredSlots())
+                .map(slotName -> CodeBlock.of("input.hasSlotNotBlank($S)", slotName))
+                .forEach(conditions::add);
+        Arrays.stream(listener.numericSlots())
+                .map(slotName -> CodeBlock.of("input.hasSlotIsNumber($S)", slotName))
+                .forEach(conditions::add);
+        Arrays.stream(listener.absentSlots())
+                .map(slotName -> CodeBlock.of("!input.hasSlotNotBlank($S)", slotName))
+                .forEach(conditions::add);
+        // all of the conditions must be met
+        final CodeBlock.Builder codeBuilder = CodeBlock.builder();
+        for (int i = 0; i < conditions.size(); i++) {
+            codeBuilder.add(i > 0 ? " && $L" : "$L", conditions.get(i));
+        }
+        return codeBuilder.build();
+    }
 }
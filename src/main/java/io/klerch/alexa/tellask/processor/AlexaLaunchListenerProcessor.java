@@ -11,6 +11,7 @@ package io.klerch.alexa.tellask.processor;
 import com.google.auto.service.AutoService;
 import com.squareup.javapoet.*;
 import io.klerch.alexa.tellask.schema.AlexaLaunchHandler;
+import io.klerch.alexa.tellask.schema.AlexaLaunchHandlerProvider;
 import io.klerch.alexa.tellask.schema.annotation.AlexaLaunchListener;
 import io.klerch.alexa.tellask.util.factory.AlexaLaunchHandlerFactory;
 import org.apache.log4j.Logger;
@@ -38,11 +39,15 @@ import java.util.stream.Collectors;
  * in your skill project. The processor prints a mandatory warning in case
  * it found more than one AlexaLaunchListener-tagged AlexaLaunchHandlers. It
  * won't fail in this case and simply picks the first handler found in the project.
+ * The factory implements AlexaLaunchHandlerProvider so it is called directly instead
+ * of over reflection. A handler in singleton scope is instantiated once on first use
+ * and kept in a holder class of the factory.
  */
 @AutoService(Processor.class)
 @SupportedSourceVersion(SourceVersion.RELEASE_8)
 public class AlexaLaunchListenerProcessor extends AbstractProcessor {
     private static final Logger LOG = Logger.getLogger(AlexaLaunchListenerProcessor.class);
+    private static final String SINGLETON_HOLDER_NAME = "HandlerHolder";
     private ProcessingEnvironment processingEnvironment;
 
     private Function<TypeElement, CodeBlock> generateCode = (final TypeElement element) -> {
@@ -50,6 +55,9 @@ public class AlexaLaunchListenerProcessor extends AbstractProcessor {
         return CodeBlock.of("return new $T();", handlerClass);
     };
 
+    private Predicate<TypeElement> isSingleton = (final TypeElement t) ->
+            SingletonHandlers.isSingleton(processingEnvironment, t, t.getAnnotation(AlexaLaunchListener.class).scope(), AlexaLaunchListener.class);
+
     private Predicate<TypeElement> isConcretePublicClass = (final TypeElement t) -> {
         final boolean condition = !(t.getModifiers().contains(Modifier.ABSTRACT) &&
                 t.getModifiers().contains(Modifier.PUBLIC));
@@ -109,10 +117,11 @@ public class AlexaLaunchListenerProcessor extends AbstractProcessor {
         }
 
         final MethodSpec.Builder methodBuilder = MethodSpec.methodBuilder(AlexaLaunchHandlerFactory.FACTORY_METHOD_NAME)
-                .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                .addAnnotation(Override.class)
+                .addModifiers(Modifier.PUBLIC)
                 .returns(AlexaLaunchHandler.class);
 
-        final List<CodeBlock> codeBlocks = roundEnv.getElementsAnnotatedWith(AlexaLaunchListener.class).stream()
+        final List<TypeElement> handlers = roundEnv.getElementsAnnotatedWith(AlexaLaunchListener.class).stream()
                 // only interested in tagged classes
                 .filter(e -> e.getKind() == ElementKind.CLASS)
                 // cast as type
@@ -123,25 +132,33 @@ public class AlexaLaunchListenerProcessor extends AbstractProcessor {
                 .filter(isConcretePublicClass)
                 // must also have a public default constructor
                 .filter(hasDefaultConstructor)
-                // process for all valid classes having the AlexaLaunchListener-annotation
-                .map(generateCode)
                 // to list
                 .collect(Collectors.toList());
 
-        if (codeBlocks.isEmpty()) {
+        if (handlers.isEmpty()) {
             return true;
-        } else if (codeBlocks.size() > 1) {
+        } else if (handlers.size() > 1) {
             processingEnvironment.getMessager().printMessage(Diagnostic.Kind.MANDATORY_WARNING, "There is more than one class annotated with " + AlexaLaunchListener.class.getSimpleName() + ". Only one of them will be considered.");
         }
 
-        // add only the first
-        methodBuilder.addCode(codeBlocks.get(0));
+        final TypeSpec.Builder factoryBuilder = TypeSpec.classBuilder(AlexaLaunchHandlerFactory.FACTORY_CLASS_NAME)
+                .addModifiers(Modifier.PUBLIC, Modifier.FINAL)
+                .addSuperinterface(AlexaLaunchHandlerProvider.class);
 
-        final MethodSpec method = methodBuilder.build();
+        // add only the first
+        final TypeElement handler = handlers.get(0);
+
+        if (isSingleton.test(handler)) {
+            // a singleton is kept in a holder class
+            final TypeSpec holder = SingletonHandlers.generateHolder(SINGLETON_HOLDER_NAME, handler);
+            factoryBuilder.addType(holder);
+            methodBuilder.addStatement("return $N.$L()", holder, SingletonHandlers.GETTER_NAME);
+        } else {
+            methodBuilder.addCode(generateCode.apply(handler));
+        }
 
-        final TypeSpec alexaIntentHandlerFactory = TypeSpec.classBuilder(AlexaLaunchHandlerFactory.FACTORY_CLASS_NAME)
-                .addModifiers(Modifier.PUBLIC, Modifier.FINAL)
-                .addMethod(method)
+        final TypeSpec alexaIntentHandlerFactory = factoryBuilder
+                .addMethod(methodBuilder.build())
                 .build();
 
         try {
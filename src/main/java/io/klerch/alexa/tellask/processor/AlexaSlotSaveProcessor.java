@@ -0,0 +1,242 @@
+/**
+ * Created by Kay Lerch (https://twitter.com/KayLerch)
+ *
+ * Contribute to https://github.com/KayLerch/alexa-skills-kit-tellask-java
+ *
+ * Attached license applies.
+ * This source is licensed under GNU GENERAL PUBLIC LICENSE Version 3 as of 29 June 2007
+ */
+package io.klerch.alexa.tellask.processor;
+
+import com.google.auto.service.AutoService;
+import com.squareup.javapoet.*;
+import io.klerch.alexa.state.model.AlexaStateModel;
+import io.klerch.alexa.tellask.model.AlexaOutputSlot;
+import io.klerch.alexa.tellask.schema.AlexaSlotAccessor;
+import io.klerch.alexa.tellask.schema.annotation.AlexaSlotSave;
+import io.klerch.alexa.tellask.schema.type.AlexaOutputFormat;
+import org.apache.log4j.Logger;
+
+import javax.annotation.processing.*;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.*;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.util.*;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * This annotation processor scans your skill project for state models having
+ * fields tagged with the AlexaSlotSave annotation. It creates a slot accessor
+ * for each of these models which reads out the values of those fields directly
+ * (or by their public getters) so there is no need for reflection at runtime. If
+ * one of the fields is neither readable directly nor has a public getter no slot
+ * accessor is generated and the model is read out with reflection. The same applies
+ * to public getters declaring checked exceptions.
+ */
+@AutoService(Processor.class)
+@SupportedSourceVersion(SourceVersion.RELEASE_8)
+public class AlexaSlotSaveProcessor extends AbstractProcessor {
+    private static final Logger LOG = Logger.getLogger(AlexaSlotSaveProcessor.class);
+
+    private ProcessingEnvironment processingEnvironment;
+    private final Set<String> processedModels = new HashSet<>();
+
+    private Predicate<TypeElement> isAlexaStateModel = (final TypeElement t) -> {
+        final TypeMirror stateModel = processingEnvironment.getElementUtils().getTypeElement(AlexaStateModel.class.getTypeName()).asType();
+        final boolean condition = processingEnvironment.getTypeUtils().isAssignable(
+                processingEnvironment.getTypeUtils().erasure(t.asType()), stateModel);
+
+        if (!condition) {
+            processingEnvironment.getMessager().printMessage(Diagnostic.Kind.MANDATORY_WARNING, "Class " + t.getSimpleName() + " has fields annotated with " + AlexaSlotSave.class.getSimpleName() + " but does not extend " + AlexaStateModel.class.getSimpleName() + ". Its fields won't be considered for resolving slots.");
+        }
+        return condition;
+    };
+
+    private Predicate<TypeElement> isAccessibleFromPackage = (final TypeElement t) -> {
+        // the model and all its enclosing classes must not be private
+        for (Element e = t; e instanceof TypeElement; e = e.getEnclosingElement()) {
+            if (e.getModifiers().contains(Modifier.PRIVATE)) {
+                processingEnvironment.getMessager().printMessage(Diagnostic.Kind.NOTE, "Class " + t.getSimpleName() + " is private. No " + AlexaSlotAccessor.CLASS_NAME_SUFFIX + " is generated for it so its slots are read out with reflection.");
+                return false;
+            }
+        }
+        return true;
+    };
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        return Collections.singletonList(AlexaSlotSave.class.getTypeName()).stream().collect(Collectors.toSet());
+    }
+
+    @Override
+    public synchronized void init(final ProcessingEnvironment processingEnv) {
+        super.init(processingEnv);
+        this.processingEnvironment = processingEnv;
+    }
+
+    @Override
+    public boolean process(final Set<? extends TypeElement> annotations, final RoundEnvironment roundEnv) {
+        if (roundEnv.processingOver()) {
+            return true;
+        }
+
+        final List<TypeElement> models = roundEnv.getElementsAnnotatedWith(AlexaSlotSave.class).stream()
+                // only interested in tagged fields
+                .filter(e -> e.getKind() == ElementKind.FIELD)
+                // of the classes declaring them
+                .map(Element::getEnclosingElement)
+                .filter(e -> e.getKind() == ElementKind.CLASS)
+                .map(e -> (TypeElement) e)
+                .distinct()
+                // must be a state model
+                .filter(isAlexaStateModel)
+                // must be accessible by a class in the same package
+                .filter(isAccessibleFromPackage)
+                // only once per model
+                .filter(t -> processedModels.add(t.getQualifiedName().toString()))
+                .collect(Collectors.toList());
+
+        for (final TypeElement model : models) {
+            final Optional<TypeSpec> slotAccessor = generateSlotAccessor(model);
+            if (slotAccessor.isPresent()) {
+                try {
+                    JavaFile.builder(processingEnvironment.getElementUtils().getPackageOf(model).getQualifiedName().toString(), slotAccessor.get())
+                            .build()
+                            .writeTo(processingEnvironment.getFiler());
+                } catch (final IOException e) {
+                    LOG.error(e);
+                    processingEnvironment.getMessager().printMessage(Diagnostic.Kind.ERROR, "Could not generate slot accessor caused by " + e.getMessage());
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private Optional<TypeSpec> generateSlotAccessor(final TypeElement model) {
+        final ClassName modelClass = ClassName.get(model);
+        final PackageElement modelPackage = processingEnvironment.getElementUtils().getPackageOf(model);
+        final Map<String, CodeBlock> slotValues = new LinkedHashMap<>();
+        final Map<String, AlexaOutputFormat> slotFormats = new HashMap<>();
+
+        // fields of subclasses win over fields of super classes with the same slot name
+        for (TypeElement type = model; type != null; type = getSuperclass(type)) {
+            for (final VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+                final AlexaSlotSave slotSave = field.getAnnotation(AlexaSlotSave.class);
+                if (slotSave == null || slotValues.containsKey(slotSave.slotName())) {
+                    continue;
+                }
+                final Optional<CodeBlock> value = getValue(model, type, modelPackage, field);
+                if (!value.isPresent()) {
+                    processingEnvironment.getMessager().printMessage(Diagnostic.Kind.NOTE, "Field " + field.getSimpleName() + " of " + model.getSimpleName() + " is private and has no public getter without checked exceptions. No " + AlexaSlotAccessor.CLASS_NAME_SUFFIX + " is generated for " + model.getSimpleName() + " so its slots are read out with reflection.");
+                    return Optional.empty();
+                }
+                slotValues.put(slotSave.slotName(), value.get());
+                slotFormats.put(slotSave.slotName(), slotSave.formatAs());
+            }
+        }
+
+        final CodeBlock.Builder slotNameList = CodeBlock.builder();
+        final Iterator<String> slotNameIterator = slotValues.keySet().iterator();
+        while (slotNameIterator.hasNext()) {
+            final String slotName = slotNameIterator.next();
+            slotNameList.add(slotNameIterator.hasNext() ? "$S, " : "$S", slotName);
+        }
+
+        final TypeName slotNamesType = ParameterizedTypeName.get(Set.class, String.class);
+        final FieldSpec slotNames = FieldSpec.builder(slotNamesType, "SLOT_NAMES", Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                .initializer("$T.unmodifiableSet(new $T<>($T.asList($L)))", Collections.class, LinkedHashSet.class, Arrays.class, slotNameList.build())
+                .build();
+
+        final MethodSpec getSlotNames = MethodSpec.methodBuilder("getSlotNames")
+                .addAnnotation(Override.class)
+                .addModifiers(Modifier.PUBLIC)
+                .returns(slotNamesType)
+                .addStatement("return SLOT_NAMES")
+                .build();
+
+        final MethodSpec.Builder getOutputSlot = MethodSpec.methodBuilder("getOutputSlot")
+                .addAnnotation(Override.class)
+                .addModifiers(Modifier.PUBLIC)
+                .returns(ParameterizedTypeName.get(Optional.class, AlexaOutputSlot.class))
+                .addParameter(AlexaStateModel.class, "model", Modifier.FINAL)
+                .addParameter(String.class, "slotName", Modifier.FINAL)
+                .beginControlFlow("if (slotName == null)")
+                .addStatement("return $T.empty()", Optional.class)
+                .endControlFlow()
+                .addStatement("final $T m = ($T) model", modelClass, modelClass)
+                .beginControlFlow("switch (slotName)");
+        slotValues.forEach((slotName, value) -> getOutputSlot
+                .addStatement("case $S: return $T.of(new $T($S, $L).formatAs($T.$L))", slotName, Optional.class,
+                        AlexaOutputSlot.class, slotName, value, AlexaOutputFormat.class, slotFormats.get(slotName).name()));
+        getOutputSlot.addStatement("default: return $T.empty()", Optional.class)
+                .endControlFlow();
+
+        return Optional.of(TypeSpec.classBuilder(String.join("_", modelClass.simpleNames()) + AlexaSlotAccessor.CLASS_NAME_SUFFIX)
+                .addModifiers(Modifier.PUBLIC, Modifier.FINAL)
+                .addSuperinterface(AlexaSlotAccessor.class)
+                .addField(slotNames)
+                .addMethod(getSlotNames)
+                .addMethod(getOutputSlot.build())
+                .build());
+    }
+
+    /**
+     * Prefers a public getter of the field just like the state model does when reading
+     * out field values. Reads the field directly otherwise if it is accessible from
+     * the package of the model.
+     */
+    private Optional<CodeBlock> getValue(final TypeElement model, final TypeElement declaringType, final PackageElement modelPackage, final VariableElement field) {
+        final String fieldName = field.getSimpleName().toString();
+        final String getterName = "get" + Character.toUpperCase(fieldName.charAt(0)) + fieldName.substring(1);
+        final Optional<ExecutableElement> getter = ElementFilter.methodsIn(processingEnvironment.getElementUtils().getAllMembers(model)).stream()
+                .filter(method -> method.getSimpleName().contentEquals(getterName))
+                .filter(method -> method.getParameters().isEmpty())
+                .filter(method -> method.getModifiers().contains(Modifier.PUBLIC))
+                .filter(method -> !method.getModifiers().contains(Modifier.STATIC))
+                .findFirst();
+
+        if (getter.isPresent()) {
+            // a getter declaring checked exceptions cannot be called without handling them
+            return getter.get().getThrownTypes().stream().allMatch(this::isUncheckedException) ?
+                    Optional.of(CodeBlock.of("m.$L()", getterName)) : Optional.empty();
+        }
+
+        final Set<Modifier> modifiers = field.getModifiers();
+        final boolean accessible = modifiers.contains(Modifier.PUBLIC) || (!modifiers.contains(Modifier.PRIVATE) &&
+                processingEnvironment.getElementUtils().getPackageOf(declaringType).equals(modelPackage));
+
+        if (!accessible) {
+            return Optional.empty();
+        }
+        if (modifiers.contains(Modifier.STATIC)) {
+            return Optional.of(CodeBlock.of("$T.$L", ClassName.get(declaringType), fieldName));
+        }
+        // fields of super classes are hidden by fields with the same name in subclasses
+        return Optional.of(declaringType.equals(model) ?
+                CodeBlock.of("m.$L", fieldName) :
+                CodeBlock.of("(($T) m).$L", ClassName.get(declaringType), fieldName));
+    }
+
+    private boolean isUncheckedException(final TypeMirror type) {
+        final TypeMirror runtimeException = processingEnvironment.getElementUtils().getTypeElement(RuntimeException.class.getTypeName()).asType();
+        final TypeMirror error = processingEnvironment.getElementUtils().getTypeElement(Error.class.getTypeName()).asType();
+        return processingEnvironment.getTypeUtils().isAssignable(type, runtimeException) ||
+                processingEnvironment.getTypeUtils().isAssignable(type, error);
+    }
+
+    private TypeElement getSuperclass(final TypeElement type) {
+        final TypeMirror superclass = type.getSuperclass();
+        if (superclass.getKind() != TypeKind.DECLARED) {
+            return null;
+        }
+        final TypeElement superType = (TypeElement) ((DeclaredType) superclass).asElement();
+        return superType.getQualifiedName().contentEquals(Object.class.getTypeName()) ? null : superType;
+    }
+}
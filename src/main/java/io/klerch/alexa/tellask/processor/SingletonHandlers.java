@@ -0,0 +1,118 @@
+/**
+ * Created by Kay Lerch (https://twitter.com/KayLerch)
+ *
+ * Contribute to https://github.com/KayLerch/alexa-skills-kit-tellask-java
+ *
+ * Attached license applies.
+ * This source is licensed under GNU GENERAL PUBLIC LICENSE Version 3 as of 29 June 2007
+ */
+package io.klerch.alexa.tellask.processor;
+
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.FieldSpec;
+import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.TypeSpec;
+import io.klerch.alexa.tellask.schema.type.AlexaHandlerScope;
+
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import java.lang.annotation.Annotation;
+import java.util.Optional;
+
+/**
+ * Shared by the listener processors to generate handlers in singleton scope. Each singleton
+ * is kept in its own holder class nested in the generated factory and created on its first use.
+ * A failing constructor only affects this very handler. Its exception is thrown to the request
+ * just like for handlers in prototype scope and creation is tried again on the next request.
+ */
+final class SingletonHandlers {
+    /**
+     * Name of the method in a holder class which returns the handler.
+     */
+    static final String GETTER_NAME = "get";
+    private static final String INSTANCE_FIELD_NAME = "instance";
+
+    private SingletonHandlers() {
+        // hides the implicit public constructor
+    }
+
+    /**
+     * Checks if a handler is in singleton scope. Handlers having non-final instance fields
+     * (also in super classes) fall back to prototype scope with a mandatory warning.
+     * @param processingEnvironment the processing environment to print the warning to
+     * @param handler the handler class
+     * @param scope the scope set in the listener annotation of the handler
+     * @param annotation type of the listener annotation
+     * @return true, if the handler is in singleton scope
+     */
+    static boolean isSingleton(final ProcessingEnvironment processingEnvironment, final TypeElement handler,
+                               final AlexaHandlerScope scope, final Class<? extends Annotation> annotation) {
+        if (!AlexaHandlerScope.SINGLETON.equals(scope)) {
+            return false;
+        }
+        final Optional<VariableElement> mutableField = getMutableField(handler);
+
+        if (mutableField.isPresent()) {
+            final ClassName handlerClass = ClassName.get(handler);
+            processingEnvironment.getMessager().printMessage(Diagnostic.Kind.MANDATORY_WARNING, "Class " + handlerClass.simpleName() + " is annotated with " + annotation.getSimpleName() + " in singleton scope but has non-final field " + mutableField.get().getSimpleName() + ". A new instance of it will be created for each request.");
+        }
+        return !mutableField.isPresent();
+    }
+
+    /**
+     * Generates a holder class whose get-method returns the one handler created on first use.
+     * The handler is not created in a static initializer as a failing constructor would leave
+     * the holder class unusable for all subsequent requests.
+     * @param holderName name of the nested holder class
+     * @param handler the handler class
+     * @return holder class to be nested in the generated factory
+     */
+    static TypeSpec generateHolder(final String holderName, final TypeElement handler) {
+        final ClassName handlerClass = ClassName.get(handler);
+        final MethodSpec getter = MethodSpec.methodBuilder(GETTER_NAME)
+                .addModifiers(Modifier.STATIC)
+                .returns(handlerClass)
+                .addStatement("$T handler = $L", handlerClass, INSTANCE_FIELD_NAME)
+                .beginControlFlow("if (handler == null)")
+                .beginControlFlow("synchronized ($L.class)", holderName)
+                .addStatement("handler = $L", INSTANCE_FIELD_NAME)
+                .beginControlFlow("if (handler == null)")
+                .addStatement("handler = new $T()", handlerClass)
+                .addStatement("$L = handler", INSTANCE_FIELD_NAME)
+                .endControlFlow()
+                .endControlFlow()
+                .endControlFlow()
+                .addStatement("return handler")
+                .build();
+        return TypeSpec.classBuilder(holderName)
+                .addModifiers(Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                .addField(FieldSpec.builder(handlerClass, INSTANCE_FIELD_NAME, Modifier.PRIVATE, Modifier.STATIC, Modifier.VOLATILE)
+                        .build())
+                .addMethod(getter)
+                .build();
+    }
+
+    private static Optional<VariableElement> getMutableField(final TypeElement handler) {
+        // look for non-final instance fields in the handler and all of its super classes
+        TypeElement type = handler;
+        while (type != null) {
+            final Optional<VariableElement> mutableField = ElementFilter.fieldsIn(type.getEnclosedElements()).stream()
+                    .filter(field -> !field.getModifiers().contains(Modifier.STATIC))
+                    .filter(field -> !field.getModifiers().contains(Modifier.FINAL))
+                    .findFirst();
+            if (mutableField.isPresent()) {
+                return mutableField;
+            }
+            final TypeMirror superclass = type.getSuperclass();
+            type = superclass.getKind() == TypeKind.DECLARED ? (TypeElement) ((DeclaredType) superclass).asElement() : null;
+        }
+        return Optional.empty();
+    }
+}
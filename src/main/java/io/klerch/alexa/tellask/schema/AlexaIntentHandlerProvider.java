@@ -0,0 +1,27 @@
+/**
+ * Created by Kay Lerch (https://twitter.com/KayLerch)
+ *
+ * Contribute to https://github.com/KayLerch/alexa-skills-kit-tellask-java
+ *
+ * Attached license applies.
+ * This source is licensed under GNU GENERAL PUBLIC LICENSE Version 3 as of 29 June 2007
+ */
+package io.klerch.alexa.tellask.schema;
+
+import io.klerch.alexa.tellask.model.AlexaInput;
+
+/**
+ * An intent handler provider returns the AlexaIntentHandler for an input. An implementation
+ * is generated at compile time out of all your classes tagged with the AlexaIntentListener-annotation.
+ * It is looked up only once by the AlexaIntentHandlerFactory which then calls it directly for
+ * every request.
+ */
+public interface AlexaIntentHandlerProvider {
+    /**
+     * Returns the AlexaIntentHandler which listens for the intent of the given input and
+     * whose verify-method returns true.
+     * @param input the input which should be handled
+     * @return the AlexaIntentHandler for the given input or null if there is none
+     */
+    AlexaIntentHandler createHandler(final AlexaInput input);
+}
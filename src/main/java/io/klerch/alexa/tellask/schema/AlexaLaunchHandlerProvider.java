@@ -0,0 +1,23 @@
+/**
+ * Created by Kay Lerch (https://twitter.com/KayLerch)
+ *
+ * Contribute to https://github.com/KayLerch/alexa-skills-kit-tellask-java
+ *
+ * Attached license applies.
+ * This source is licensed under GNU GENERAL PUBLIC LICENSE Version 3 as of 29 June 2007
+ */
+package io.klerch.alexa.tellask.schema;
+
+/**
+ * A launch handler provider returns the AlexaLaunchHandler of your skill. An implementation
+ * is generated at compile time out of the class tagged with the AlexaLaunchListener-annotation.
+ * It is looked up only once by the AlexaLaunchHandlerFactory which then calls it directly for
+ * every request.
+ */
+public interface AlexaLaunchHandlerProvider {
+    /**
+     * Returns the AlexaLaunchHandler of your skill.
+     * @return the AlexaLaunchHandler of your skill or null if there is none
+     */
+    AlexaLaunchHandler createHandler();
+}
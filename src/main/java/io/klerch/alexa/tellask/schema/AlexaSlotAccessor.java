@@ -0,0 +1,47 @@
+/**
+ * Created by Kay Lerch (https://twitter.com/KayLerch)
+ *
+ * Contribute to https://github.com/KayLerch/alexa-skills-kit-tellask-java
+ *
+ * Attached license applies.
+ * This source is licensed under GNU GENERAL PUBLIC LICENSE Version 3 as of 29 June 2007
+ */
+package io.klerch.alexa.tellask.schema;
+
+import io.klerch.alexa.state.model.AlexaStateModel;
+import io.klerch.alexa.tellask.model.AlexaOutputSlot;
+
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * A slot accessor reads out the values of fields tagged with AlexaSlotSave in a
+ * state model. An implementation is generated at compile time for any of your state
+ * models whose AlexaSlotSave fields are readable (either not private or with a public getter).
+ * It sits next to the model in the same package and is named after the model with
+ * the suffix SlotAccessor. Models without a generated slot accessor are read out
+ * with reflection.
+ */
+public interface AlexaSlotAccessor {
+    /**
+     * Suffix added to the name of a state model to get the name of its slot accessor.
+     * The names of nested classes are joined with an underscore.
+     */
+    String CLASS_NAME_SUFFIX = "SlotAccessor";
+
+    /**
+     * Names of all the slots provided by fields tagged with AlexaSlotSave
+     * @return names of all the slots provided by fields tagged with AlexaSlotSave
+     */
+    Set<String> getSlotNames();
+
+    /**
+     * Returns an AlexaOutputSlot with the value of the field tagged with AlexaSlotSave
+     * which got the given slot-name
+     * @param model the state model to read the value from
+     * @param slotName the slot-name to look after
+     * @return an AlexaOutputSlot with the value of the field which got the given slot-name
+     * @throws RuntimeException exception thrown by the getter of the field is passed on
+     */
+    Optional<AlexaOutputSlot> getOutputSlot(final AlexaStateModel model, final String slotName);
+}
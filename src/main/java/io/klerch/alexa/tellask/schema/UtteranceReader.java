@@ -91,4 +91,16 @@ public interface UtteranceReader {
      * @return an input stream containing the set of utterances in YAML format
      */
     InputStream read(final String locale);
+
+    /**
+     * Identifies the source this reader reads from. Readers with the same source id, leading
+     * path and resource location are expected to read out the same content for a locale.
+     * That is why YAML content is parsed only once per combination of these values and
+     * shared afterwards. By default the source id is the name of the reader class. Override
+     * this method if your reader can point to different sources (like different S3 buckets).
+     * @return identifier of the source this reader reads from
+     */
+    default String getSourceId() {
+        return getClass().getName();
+    }
 }
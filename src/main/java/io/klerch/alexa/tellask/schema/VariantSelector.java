@@ -0,0 +1,25 @@
+/**
+ * Created by Kay Lerch (https://twitter.com/KayLerch)
+ *
+ * Contribute to https://github.com/KayLerch/alexa-skills-kit-tellask-java
+ *
+ * Attached license applies.
+ * This source is licensed under GNU GENERAL PUBLIC LICENSE Version 3 as of 29 June 2007
+ */
+package io.klerch.alexa.tellask.schema;
+
+/**
+ * A variant selector decides which utterance of an intent and which phrase of a
+ * multi-phrase is picked when a response is rendered. The default implementation
+ * picks randomly. Provide a seeded implementation to get reproducible responses
+ * (e.g. in tests). Weighted phrases like [Hi::3|Hello] are mapped to a range of
+ * indexes by the caller so implementations only need to pick an index uniformly.
+ */
+public interface VariantSelector {
+    /**
+     * Picks an index out of a range of indexes.
+     * @param bound the upper bound (exclusive). Always greater than zero.
+     * @return an index between zero (inclusive) and the given bound (exclusive)
+     */
+    int select(final int bound);
+}
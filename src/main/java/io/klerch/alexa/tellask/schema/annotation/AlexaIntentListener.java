@@ -8,6 +8,7 @@
  */
 package io.klerch.alexa.tellask.schema.annotation;
 
+import io.klerch.alexa.tellask.schema.type.AlexaHandlerScope;
 import io.klerch.alexa.tellask.schema.type.AlexaIntentType;
 
 import java.lang.annotation.ElementType;
@@ -42,4 +43,32 @@ public @interface AlexaIntentListener {
      * @return priority among intent handlers listen for the same intent. Default is 0.
      */
     int priority() default 0;
-}
\ No newline at end of file
+
+    /**
+     * Defines the names of slots which must have a value which is not blank. The AlexaIntentHandler
+     * is not even created if one of these slots is missing or blank in the request. Checked before verify.
+     * @return names of slots which must have a value which is not blank
+     */
+    String[] requiredSlots() default {};
+
+    /**
+     * Defines the names of slots which must have a numeric value. The AlexaIntentHandler is not even
+     * created if one of these slots is missing or not a number in the request. Checked before verify.
+     * @return names of slots which must have a numeric value
+     */
+    String[] numericSlots() default {};
+
+    /**
+     * Defines the names of slots which must not have a value. The AlexaIntentHandler is not even
+     * created if one of these slots has a value which is not blank in the request. Checked before verify.
+     * @return names of slots which must not have a value
+     */
+    String[] absentSlots() default {};
+
+    /**
+     * Defines the scope of the AlexaIntentHandler. By default a new handler is created for each
+     * request. Stateless handlers can be set to singleton scope to share one instance across requests.
+     * @return scope of the AlexaIntentHandler. Default is prototype.
+     */
+    AlexaHandlerScope scope() default AlexaHandlerScope.PROTOTYPE;
+}
@@ -8,6 +8,8 @@
  */
 package io.klerch.alexa.tellask.schema.annotation;
 
+import io.klerch.alexa.tellask.schema.type.AlexaHandlerScope;
+
 import java.lang.annotation.ElementType;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
@@ -21,4 +23,10 @@ import java.lang.annotation.Target;
 @Retention(RetentionPolicy.SOURCE)
 @Target(ElementType.TYPE)
 public @interface AlexaLaunchListener {
+    /**
+     * Defines the scope of the AlexaLaunchHandler. By default a new handler is created for each
+     * request. Stateless handlers can be set to singleton scope to share one instance across requests.
+     * @return scope of the AlexaLaunchHandler. Default is prototype.
+     */
+    AlexaHandlerScope scope() default AlexaHandlerScope.PROTOTYPE;
 }
\ No newline at end of file
@@ -0,0 +1,26 @@
+/**
+ * Created by Kay Lerch (https://twitter.com/KayLerch)
+ *
+ * Contribute to https://github.com/KayLerch/alexa-skills-kit-tellask-java
+ *
+ * Attached license applies.
+ * This source is licensed under GNU GENERAL PUBLIC LICENSE Version 3 as of 29 June 2007
+ */
+package io.klerch.alexa.tellask.schema.type;
+
+/**
+ * The scope of an AlexaIntentHandler or AlexaLaunchHandler decides how often
+ * it is instantiated by the generated factory.
+ */
+public enum AlexaHandlerScope {
+    /**
+     * A new instance of the handler is created for each request.
+     */
+    PROTOTYPE,
+    /**
+     * One instance of the handler is shared by all requests. The handler is created once when the generated
+     * factory is loaded and must not keep any state as it is used by concurrent requests. Handlers having
+     * non-final instance fields fall back to prototype scope.
+     */
+    SINGLETON
+}
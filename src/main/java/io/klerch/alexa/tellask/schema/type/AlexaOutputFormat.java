@@ -12,6 +12,7 @@ import java.text.SimpleDateFormat;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.Date;
+import java.util.Formattable;
 
 /**
  * The output formats provide a set of SSML pattern. Applied to some value (most likely
@@ -96,10 +97,21 @@ public enum AlexaOutputFormat {
      */
     VERB_PAST("<w role=\"ivona:VBD\">%1$s</w>");
 
+    private static final String VALUE_PLACEHOLDER = "%1$s";
+    private static final int ESTIMATED_VALUE_LENGTH = 16;
+    private static final DateTimeFormatter LOCAL_DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final ThreadLocal<SimpleDateFormat> DATE_FORMAT = ThreadLocal.withInitial(() -> new SimpleDateFormat("yyyyMMdd"));
+
     final String ssmlTemplate;
+    // portions of the template in front of and behind the value
+    private final String ssmlPrefix;
+    private final String ssmlSuffix;
 
     AlexaOutputFormat(final String ssmlTemplate) {
         this.ssmlTemplate = ssmlTemplate;
+        final int valueIndex = ssmlTemplate.indexOf(VALUE_PLACEHOLDER);
+        this.ssmlPrefix = ssmlTemplate.substring(0, valueIndex);
+        this.ssmlSuffix = ssmlTemplate.substring(valueIndex + VALUE_PLACEHOLDER.length());
     }
 
     /**
@@ -116,19 +128,37 @@ public enum AlexaOutputFormat {
      * @return valid SSML with given value in it
      */
     public String getSsml(final Object value) {
-        if (value instanceof LocalDateTime) {
-            return getSsmlLocalDate((LocalDateTime)value);
-        }
-        if (value instanceof Date)
-            return getSsmlDate((Date)value);
-        return String.format(ssmlTemplate, value);
-    }
-
-    private String getSsmlDate(final Date date) {
-        return String.format(ssmlTemplate, new SimpleDateFormat("yyyyMMdd").format(date));
+        final StringBuilder buffer = new StringBuilder(ssmlPrefix.length() + ESTIMATED_VALUE_LENGTH + ssmlSuffix.length());
+        appendSsml(buffer, value);
+        return buffer.toString();
     }
 
-    private String getSsmlLocalDate(final LocalDateTime date) {
-        return String.format(ssmlTemplate, DateTimeFormatter.ofPattern("yyyyMMdd").format(date));
+    /**
+     * Applies a value to the SSML template of this format and appends the result to
+     * the given buffer.
+     * @param buffer the buffer to append the SSML to
+     * @param value the value to apply to the SSML template
+     */
+    public void appendSsml(final StringBuilder buffer, final Object value) {
+        buffer.append(ssmlPrefix);
+        if (value instanceof LocalDateTime) {
+            LOCAL_DATE_FORMATTER.formatTo((LocalDateTime) value, buffer);
+        } else if (value instanceof Date) {
+            buffer.append(DATE_FORMAT.get().format((Date) value));
+        } else if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+            buffer.append(((Number) value).longValue());
+        } else if (value instanceof Double) {
+            buffer.append(((Double) value).doubleValue());
+        } else if (value instanceof Float) {
+            buffer.append(((Float) value).floatValue());
+        } else if (value instanceof CharSequence) {
+            buffer.append((CharSequence) value);
+        } else if (value instanceof Formattable) {
+            // custom formatting of a value is left to the formatter
+            buffer.append(String.format(VALUE_PLACEHOLDER, value));
+        } else {
+            buffer.append(value);
+        }
+        buffer.append(ssmlSuffix);
     }
 }
@@ -0,0 +1,146 @@
+/**
+ * Created by Kay Lerch (https://twitter.com/KayLerch)
+ *
+ * Contribute to https://github.com/KayLerch/alexa-skills-kit-tellask-java
+ *
+ * Attached license applies.
+ * This source is licensed under GNU GENERAL PUBLIC LICENSE Version 3 as of 29 June 2007
+ */
+package io.klerch.alexa.tellask.util;
+
+import com.amazon.speech.json.SpeechletRequestEnvelope;
+import com.amazon.speech.json.SpeechletRequestModule;
+import com.amazon.speech.json.SpeechletResponseEnvelope;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.apache.log4j.Logger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Optional;
+
+/**
+ * Central JSON codec of the Tellask SDK. It holds readers and writers for speechlet request
+ * and response envelopes which are set up once and shared by all requests. They are configured
+ * just like the ones of the Alexa Skills Kit SDK so the JSON is the same.
+ * If the Jackson Afterburner module is on the classpath and system property
+ * 'io.klerch.alexa.tellask.json.afterburner' is set to true it is registered with the
+ * mappers to have (de)serializers generated as bytecode instead of using reflection.
+ */
+public final class TellaskJson {
+    private static final Logger LOG = Logger.getLogger(TellaskJson.class);
+    /**
+     * System property to enable the Jackson Afterburner module.
+     */
+    public static final String AFTERBURNER_PROPERTY = "io.klerch.alexa.tellask.json.afterburner";
+    private static final String AFTERBURNER_MODULE = "com.fasterxml.jackson.module.afterburner.AfterburnerModule";
+
+    private static final ObjectReader REQUEST_ENVELOPE_READER;
+    private static final ObjectWriter RESPONSE_ENVELOPE_WRITER;
+    private static final ObjectWriter RESPONSE_ENVELOPE_STREAM_WRITER;
+
+    static {
+        REQUEST_ENVELOPE_READER = newRequestEnvelopeReader();
+        RESPONSE_ENVELOPE_WRITER = newResponseEnvelopeWriter();
+        // leaves closing the stream to the one who provided it
+        RESPONSE_ENVELOPE_STREAM_WRITER = RESPONSE_ENVELOPE_WRITER.without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+
+    private TellaskJson() {
+    }
+
+    /**
+     * Sets up a reader for speechlet request envelopes according to the current value
+     * of the afterburner system property.
+     * @return reader for speechlet request envelopes
+     */
+    static ObjectReader newRequestEnvelopeReader() {
+        final ObjectMapper requestMapper = new ObjectMapper()
+                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+                .configure(DeserializationFeature.READ_UNKNOWN_ENUM_VALUES_AS_NULL, true)
+                .registerModule(new SpeechletRequestModule());
+        return registerAfterburner(requestMapper).readerFor(SpeechletRequestEnvelope.class);
+    }
+
+    /**
+     * Sets up a writer for speechlet response envelopes according to the current value
+     * of the afterburner system property.
+     * @return writer for speechlet response envelopes
+     */
+    static ObjectWriter newResponseEnvelopeWriter() {
+        final ObjectMapper responseMapper = new ObjectMapper()
+                .setSerializationInclusion(JsonInclude.Include.NON_NULL);
+        return registerAfterburner(responseMapper).writerFor(SpeechletResponseEnvelope.class);
+    }
+
+    private static ObjectMapper registerAfterburner(final ObjectMapper mapper) {
+        if (Boolean.getBoolean(AFTERBURNER_PROPERTY)) {
+            getAfterburnerModule().ifPresent(mapper::registerModule);
+        }
+        return mapper;
+    }
+
+    private static Optional<Module> getAfterburnerModule() {
+        try {
+            return Optional.of((Module) Class.forName(AFTERBURNER_MODULE).getConstructor().newInstance());
+        } catch (final ReflectiveOperationException | LinkageError e) {
+            LOG.warn("Afterburner is enabled with system property '" + AFTERBURNER_PROPERTY + "' but " + AFTERBURNER_MODULE + " could not be loaded. Make sure jackson-module-afterburner is on your classpath.", e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Gets the factory for streaming through JSON without deserializing it.
+     * @return json factory
+     */
+    public static JsonFactory getJsonFactory() {
+        return REQUEST_ENVELOPE_READER.getFactory();
+    }
+
+    /**
+     * Deserializes a speechlet request envelope.
+     * @param serializedSpeechletRequest the speechlet request as JSON
+     * @return deserialized speechlet request envelope
+     * @throws IOException thrown when the speechlet request is not valid
+     */
+    public static SpeechletRequestEnvelope<?> readRequestEnvelope(final InputStream serializedSpeechletRequest) throws IOException {
+        return REQUEST_ENVELOPE_READER.readValue(serializedSpeechletRequest);
+    }
+
+    /**
+     * Deserializes a speechlet request envelope.
+     * @param serializedSpeechletRequest bytes of the speechlet request as JSON
+     * @return deserialized speechlet request envelope
+     * @throws IOException thrown when the speechlet request is not valid
+     */
+    public static SpeechletRequestEnvelope<?> readRequestEnvelope(final byte[] serializedSpeechletRequest) throws IOException {
+        return REQUEST_ENVELOPE_READER.readValue(serializedSpeechletRequest);
+    }
+
+    /**
+     * Serializes a speechlet response envelope.
+     * @param responseEnvelope the speechlet response envelope
+     * @return bytes of the speechlet response as JSON
+     * @throws IOException thrown when the speechlet response could not be serialized
+     */
+    public static byte[] writeResponseEnvelope(final SpeechletResponseEnvelope responseEnvelope) throws IOException {
+        return RESPONSE_ENVELOPE_WRITER.writeValueAsBytes(responseEnvelope);
+    }
+
+    /**
+     * Serializes a speechlet response envelope into the given stream. The stream is not closed.
+     * @param responseEnvelope the speechlet response envelope
+     * @param output the stream to write the speechlet response to
+     * @throws IOException thrown when the speechlet response could not be serialized or written
+     */
+    public static void writeResponseEnvelope(final SpeechletResponseEnvelope responseEnvelope, final OutputStream output) throws IOException {
+        RESPONSE_ENVELOPE_STREAM_WRITER.writeValue(output, responseEnvelope);
+    }
+}
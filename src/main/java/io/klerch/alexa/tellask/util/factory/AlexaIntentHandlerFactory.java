@@ -10,14 +10,15 @@ package io.klerch.alexa.tellask.util.factory;
 
 import io.klerch.alexa.tellask.model.AlexaInput;
 import io.klerch.alexa.tellask.schema.AlexaIntentHandler;
+import io.klerch.alexa.tellask.schema.AlexaIntentHandlerProvider;
 import org.apache.log4j.Logger;
 
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
 import java.util.Optional;
 
 /**
  * Constructs the AlexaIntentHandler which is tagged with the AlexaIntentListener-annotation.
+ * It delegates to the AlexaIntentHandlerProvider generated at compile time which is looked up
+ * only once.
  */
 public class AlexaIntentHandlerFactory {
     public static final String FACTORY_PACKAGE = AlexaIntentHandlerFactory.class.getPackage().getName();
@@ -39,16 +40,26 @@ public class AlexaIntentHandlerFactory {
      *              input as it is the matching criteria for finding the right intent handler.
      * @return AlexaLaunchHandler to handle launch events of your skill
      */
-    @SuppressWarnings("unchecked")
     public static Optional<AlexaIntentHandler> createHandler(final AlexaInput input) {
+        return Optional.ofNullable(ProviderHolder.PROVIDER.createHandler(input));
+    }
+
+    private static AlexaIntentHandlerProvider loadProvider() {
         try {
-            final Class factoryImpl = Class.forName(FACTORY_PACKAGE + "." + FACTORY_CLASS_NAME);
-            final Method method = factoryImpl.getMethod(FACTORY_METHOD_NAME, AlexaInput.class);
-            final Object handler = method.invoke(null, input);
-            return handler != null ? Optional.of((AlexaIntentHandler)handler) : Optional.empty();
-        } catch (ClassNotFoundException | NoSuchMethodException | InvocationTargetException | IllegalAccessException e) {
-            LOG.error("Could not access generated factory to obtain intent handlers likely because there is no valid intent handler in your project at all.", e);
-            return Optional.empty();
+            final Class<?> factoryImpl = Class.forName(FACTORY_PACKAGE + "." + FACTORY_CLASS_NAME);
+            return factoryImpl.asSubclass(AlexaIntentHandlerProvider.class).getConstructor().newInstance();
+        } catch (final ClassNotFoundException e) {
+            LOG.warn("Could not find generated factory to obtain intent handlers likely because there is no valid intent handler in your project at all.");
+            return input -> null;
+        } catch (final ReflectiveOperationException | ClassCastException e) {
+            throw new IllegalStateException("Could not instantiate generated factory " + FACTORY_CLASS_NAME + " to obtain intent handlers.", e);
         }
     }
+
+    /**
+     * Looks up the generated provider on first use.
+     */
+    private static final class ProviderHolder {
+        private static final AlexaIntentHandlerProvider PROVIDER = loadProvider();
+    }
 }
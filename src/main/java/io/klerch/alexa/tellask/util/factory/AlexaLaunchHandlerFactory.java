@@ -9,14 +9,15 @@
 package io.klerch.alexa.tellask.util.factory;
 
 import io.klerch.alexa.tellask.schema.AlexaLaunchHandler;
+import io.klerch.alexa.tellask.schema.AlexaLaunchHandlerProvider;
 import org.apache.log4j.Logger;
 
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
 import java.util.Optional;
 
 /**
  * Constructs the AlexaLaunchHandler which is tagged with the AlexaLaunchListener-annotation.
+ * It delegates to the AlexaLaunchHandlerProvider generated at compile time which is looked up
+ * only once.
  */
 public class AlexaLaunchHandlerFactory {
     public static final String FACTORY_PACKAGE = AlexaLaunchHandlerFactory.class.getPackage().getName();
@@ -35,16 +36,26 @@ public class AlexaLaunchHandlerFactory {
      * your skill only needs one of them.
      * @return AlexaLaunchHandler to handle launch events of your skill
      */
-    @SuppressWarnings("unchecked")
     public static Optional<AlexaLaunchHandler> createHandler() {
+        return Optional.ofNullable(ProviderHolder.PROVIDER.createHandler());
+    }
+
+    private static AlexaLaunchHandlerProvider loadProvider() {
         try {
-            final Class factoryImpl = Class.forName(FACTORY_PACKAGE + "." + FACTORY_CLASS_NAME);
-            final Method method = factoryImpl.getMethod(FACTORY_METHOD_NAME);
-            final Object handler = method.invoke(null);
-            return handler != null ? Optional.of((AlexaLaunchHandler) handler) : Optional.empty();
-        } catch (ClassNotFoundException | NoSuchMethodException | InvocationTargetException | IllegalAccessException e) {
-            LOG.error("Could not access generated factory to obtain launch handlers likely because there is no valid launch handler in your project at all.", e);
-            return Optional.empty();
+            final Class<?> factoryImpl = Class.forName(FACTORY_PACKAGE + "." + FACTORY_CLASS_NAME);
+            return factoryImpl.asSubclass(AlexaLaunchHandlerProvider.class).getConstructor().newInstance();
+        } catch (final ClassNotFoundException e) {
+            LOG.warn("Could not find generated factory to obtain launch handlers likely because there is no valid launch handler in your project at all.");
+            return () -> null;
+        } catch (final ReflectiveOperationException | ClassCastException e) {
+            throw new IllegalStateException("Could not instantiate generated factory " + FACTORY_CLASS_NAME + " to obtain launch handlers.", e);
         }
     }
+
+    /**
+     * Looks up the generated provider on first use.
+     */
+    private static final class ProviderHolder {
+        private static final AlexaLaunchHandlerProvider PROVIDER = loadProvider();
+    }
 }
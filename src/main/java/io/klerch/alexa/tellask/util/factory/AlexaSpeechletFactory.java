@@ -8,25 +8,63 @@
  */
 package io.klerch.alexa.tellask.util.factory;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.amazon.speech.json.SpeechletRequestEnvelope;
+import com.amazon.speech.speechlet.SpeechletRequest;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import io.klerch.alexa.state.handler.AlexaStateHandler;
 import io.klerch.alexa.tellask.model.wrapper.AlexaSpeechlet;
 import io.klerch.alexa.tellask.schema.UtteranceReader;
+import io.klerch.alexa.tellask.util.TellaskJson;
 
 import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
+import java.util.Locale;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * This factory is for creating an AlexaSpeechlet
  */
 public class AlexaSpeechletFactory {
     public static final String DEFAULT_LOCALE = "en-US";
+    private static final ConcurrentMap<String, AlexaSpeechlet> SPEECHLETS = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the AlexaSpeechlet of the given class working with the given utterance reader.
+     * As the speechlet takes the locale from each request it does not need to be bound to one
+     * and is created only once. Subsequent calls with the same class and a reader of the same
+     * class pointing to the same source return the same instance. Speechlets are kept for the
+     * lifetime of the process and handle concurrent requests, so your speechlet must be
+     * stateless and thread-safe. The same applies to the utterance reader it was created with.
+     * A public constructor taking just the UtteranceReader is preferred over the one also
+     * taking a locale. If there is only the latter it is given the DEFAULT_LOCALE, which the
+     * speechlet uses solely for requests not providing a locale.
+     * @param speechletClass the class of your AlexaSpeechlet
+     * @param utteranceReader the reader AlexaSpeechlet should use when reading out utterances
+     * @param <T> must extend AlexaSpeechlet
+     * @return shared instance of AlexaSpeechlet
+     * @throws IOException thrown when the speechlet could not be created
+     */
+    public static <T extends AlexaSpeechlet> T getSpeechlet(final Class<T> speechletClass, final UtteranceReader utteranceReader) throws IOException {
+        final String key = speechletClass.getName() + "|" + utteranceReader.getClass().getName() + "|" +
+                utteranceReader.getSourceId() + "|" + utteranceReader.getLeadingPath() + "|" + utteranceReader.getResourceLocation();
+
+        final AlexaSpeechlet speechlet = SPEECHLETS.get(key);
+        if (speechlet != null) {
+            return speechletClass.cast(speechlet);
+        }
+        final T newSpeechlet = newSpeechlet(speechletClass, utteranceReader);
+        final AlexaSpeechlet existingSpeechlet = SPEECHLETS.putIfAbsent(key, newSpeechlet);
+        return existingSpeechlet != null ? speechletClass.cast(existingSpeechlet) : newSpeechlet;
+    }
 
     /**
      * Creates an AlexaSpeechlet from bytes of a speechlet request. It will extract the
-     * locale from the request and uses it for creating a new instance of AlexaSpeechlet
+     * locale from the request and uses it for creating a new instance of AlexaSpeechlet.
+     * As the speechlet takes the locale from each request it handles, the extracted locale
+     * only serves as its fallback. Prefer getSpeechlet to share one instance instead.
      * @param serializedSpeechletRequest bytes of a speechlet request
      * @param speechletClass the class of your AlexaSpeechlet to instantiate
      * @param utteranceReader the reader AlexaSpeechlet should use when reading out utterances
@@ -35,16 +73,80 @@ public class AlexaSpeechletFactory {
      * @throws IOException thrown when something went wrong
      */
     public static <T extends AlexaSpeechlet> T createSpeechletFromRequest(final byte[] serializedSpeechletRequest, final Class<T> speechletClass, final UtteranceReader utteranceReader) throws IOException {
-        final ObjectMapper mapper = new ObjectMapper();
-
-        final JsonNode parser = mapper.readTree(serializedSpeechletRequest);
-        final String locale = Optional.of(parser.path("request"))
-                .filter(node -> !node.isMissingNode())
-                .map(node -> node.path("locale"))
-                .filter(node -> !node.isMissingNode())
-                .map(JsonNode::textValue)
+        final String locale = extractLocale(serializedSpeechletRequest).orElse(DEFAULT_LOCALE);
+
+        return createSpeechlet(locale, speechletClass, utteranceReader);
+    }
+
+    /**
+     * Creates an AlexaSpeechlet from an already deserialized speechlet request. It takes the
+     * locale from the request and uses it for creating a new instance of AlexaSpeechlet. Prefer
+     * this one over creating from bytes if you need the envelope anyway as it avoids parsing
+     * the request a second time. As the speechlet takes the locale from each request it handles,
+     * the locale of this request only serves as its fallback.
+     * @param requestEnvelope the deserialized speechlet request
+     * @param speechletClass the class of your AlexaSpeechlet to instantiate
+     * @param utteranceReader the reader AlexaSpeechlet should use when reading out utterances
+     * @param <T> must extend AlexaSpeechlet
+     * @return new instance of AlexaSpeechlet
+     * @throws IOException thrown when something went wrong
+     */
+    public static <T extends AlexaSpeechlet> T createSpeechletFromRequest(final SpeechletRequestEnvelope<?> requestEnvelope, final Class<T> speechletClass, final UtteranceReader utteranceReader) throws IOException {
+        final String locale = Optional.ofNullable(requestEnvelope.getRequest())
+                .map(SpeechletRequest::getLocale)
+                .map(Locale::toLanguageTag)
                 .orElse(DEFAULT_LOCALE);
 
+        return createSpeechlet(locale, speechletClass, utteranceReader);
+    }
+
+    /**
+     * Reads out the locale from bytes of a speechlet request. The request is streamed
+     * only until the locale is found while all other contents like the session attributes
+     * are skipped without being deserialized.
+     * @param serializedSpeechletRequest bytes of a speechlet request
+     * @return the locale of the speechlet request or empty if the request does not contain one
+     * @throws IOException thrown when the speechlet request is not valid JSON
+     */
+    public static Optional<String> extractLocale(final byte[] serializedSpeechletRequest) throws IOException {
+        try (final JsonParser parser = TellaskJson.getJsonFactory().createParser(serializedSpeechletRequest)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return Optional.empty();
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                final String fieldName = parser.getCurrentName();
+                final JsonToken value = parser.nextToken();
+                if ("request".equals(fieldName) && value == JsonToken.START_OBJECT) {
+                    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                        final String requestFieldName = parser.getCurrentName();
+                        final JsonToken requestValue = parser.nextToken();
+                        if ("locale".equals(requestFieldName)) {
+                            return requestValue == JsonToken.VALUE_STRING ? Optional.of(parser.getText()) : Optional.empty();
+                        }
+                        parser.skipChildren();
+                    }
+                    // there's only one request
+                    return Optional.empty();
+                }
+                // skips the value without deserializing it even if it is an object or array
+                parser.skipChildren();
+            }
+        }
+        return Optional.empty();
+    }
+
+    private static <T extends AlexaSpeechlet> T newSpeechlet(final Class<T> speechletClass, final UtteranceReader utteranceReader) throws IOException {
+        try {
+            return speechletClass.getConstructor(UtteranceReader.class).newInstance(utteranceReader);
+        } catch (final NoSuchMethodException e) {
+            // fall back to the constructor also taking a locale. It's only used for requests without a locale
+            return createSpeechlet(DEFAULT_LOCALE, speechletClass, utteranceReader);
+        } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
+            throw new IOException("Could not create Speechlet", e);
+        }
+    }
+
+    private static <T extends AlexaSpeechlet> T createSpeechlet(final String locale, final Class<T> speechletClass, final UtteranceReader utteranceReader) throws IOException {
         try {
             return speechletClass.getConstructor(String.class, UtteranceReader.class)
                     .newInstance(locale, utteranceReader);
@@ -0,0 +1,30 @@
+/**
+ * Created by Kay Lerch (https://twitter.com/KayLerch)
+ *
+ * Contribute to https://github.com/KayLerch/alexa-skills-kit-tellask-java
+ *
+ * Attached license applies.
+ * This source is licensed under GNU GENERAL PUBLIC LICENSE Version 3 as of 29 June 2007
+ */
+package io.klerch.alexa.tellask.util.resource;
+
+import io.klerch.alexa.tellask.schema.VariantSelector;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The default variant selector picking randomly. It relies on the random number
+ * generator of the current thread so neither an object is created per pick nor
+ * concurrent threads compete for a shared seed.
+ */
+public class RandomVariantSelector implements VariantSelector {
+    /**
+     * Picks an index randomly.
+     * @param bound the upper bound (exclusive). Always greater than zero.
+     * @return a random index between zero (inclusive) and the given bound (exclusive)
+     */
+    @Override
+    public int select(final int bound) {
+        return ThreadLocalRandom.current().nextInt(bound);
+    }
+}
@@ -99,6 +99,14 @@ public class S3UtteranceReader extends ResourceUtteranceReader {
         return this.bucketName;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getSourceId() {
+        return super.getSourceId() + ":" + bucketName;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -0,0 +1,40 @@
+/**
+ * Created by Kay Lerch (https://twitter.com/KayLerch)
+ *
+ * Contribute to https://github.com/KayLerch/alexa-skills-kit-tellask-java
+ *
+ * Attached license applies.
+ * This source is licensed under GNU GENERAL PUBLIC LICENSE Version 3 as of 29 June 2007
+ */
+package io.klerch.alexa.tellask.util.resource;
+
+import io.klerch.alexa.tellask.schema.VariantSelector;
+
+import java.util.SplittableRandom;
+
+/**
+ * A variant selector with a fixed seed. The same seed leads to the same sequence of
+ * picks and therefore to the same sequence of rendered utterances. Use it for
+ * reproducible responses in tests or for caching of responses.
+ */
+public class SeededVariantSelector implements VariantSelector {
+    private final SplittableRandom random;
+
+    /**
+     * A new selector whose picks are determined by the given seed.
+     * @param seed the seed
+     */
+    public SeededVariantSelector(final long seed) {
+        this.random = new SplittableRandom(seed);
+    }
+
+    /**
+     * Picks the next index in the sequence determined by the seed.
+     * @param bound the upper bound (exclusive). Always greater than zero.
+     * @return an index between zero (inclusive) and the given bound (exclusive)
+     */
+    @Override
+    public synchronized int select(final int bound) {
+        return random.nextInt(bound);
+    }
+}
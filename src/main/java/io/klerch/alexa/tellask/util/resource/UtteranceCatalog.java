@@ -0,0 +1,218 @@
+/**
+ * Created by Kay Lerch (https://twitter.com/KayLerch)
+ *
+ * Contribute to https://github.com/KayLerch/alexa-skills-kit-tellask-java
+ *
+ * Attached license applies.
+ * This source is licensed under GNU GENERAL PUBLIC LICENSE Version 3 as of 29 June 2007
+ */
+package io.klerch.alexa.tellask.util.resource;
+
+import io.klerch.alexa.tellask.schema.UtteranceReader;
+import org.apache.commons.lang3.Validate;
+import org.apache.log4j.Logger;
+import org.yaml.snakeyaml.Yaml;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * An immutable set of utterances parsed from the YAML file an UtteranceReader
+ * reads out for a locale. Parsing YAML is expensive so a catalog is created only once
+ * per source, leading path, resource location and locale of a reader and then shared
+ * by all YamlReaders in the process. A catalog is safe to be used by concurrent threads.
+ */
+public final class UtteranceCatalog {
+    /**
+     * System property to set the maximum number of variants an utterance is expanded into
+     * when the catalog is built. Utterances with more variants are rendered from their
+     * compiled template. Zero disables expansion.
+     */
+    public static final String EXPANSION_THRESHOLD_PROPERTY = "io.klerch.alexa.tellask.utterances.expansionThreshold";
+    private static final int DEFAULT_EXPANSION_THRESHOLD = 64;
+
+    private static final Logger LOG = Logger.getLogger(UtteranceCatalog.class);
+    private static final ConcurrentMap<String, UtteranceCatalog> CATALOGS = new ConcurrentHashMap<>();
+
+    private final String locale;
+    private final Map<String, IntentPhrases> index;
+
+    private UtteranceCatalog(final String locale, final Map<String, IntentPhrases> index) {
+        this.locale = locale;
+        this.index = index;
+    }
+
+    /**
+     * Returns the catalog with all utterances the given reader reads out for a locale. The
+     * YAML file is only read and parsed on first access. Subsequent calls with a reader
+     * pointing to the same source return the cached catalog.
+     * @param utteranceReader the UtteranceReader reading out YAML content with utterances
+     * @param locale the locale the UtteranceReader reads out the appropriate YAML file for
+     * @return the catalog with all utterances the given reader reads out for a locale
+     * @throws IllegalArgumentException if an utterance in the YAML file is invalid (e.g. has a weight of zero)
+     */
+    public static UtteranceCatalog forReader(final UtteranceReader utteranceReader, final String locale) {
+        Validate.notNull(utteranceReader, "Utterance reader must not be null.");
+        Validate.notNull(locale, "Locale must not be blank.");
+        return CATALOGS.computeIfAbsent(getCacheKey(utteranceReader, locale), key -> load(utteranceReader, locale));
+    }
+
+    /**
+     * Drops all cached catalogs so utterances are read out from their sources
+     * once again. Call this method if the YAML files changed at runtime (e.g.
+     * after uploading new utterances to an S3 bucket) and a warm container should
+     * pick up those changes.
+     */
+    public static void invalidate() {
+        CATALOGS.clear();
+    }
+
+    /**
+     * The locale this catalog was read out for.
+     * @return the locale this catalog was read out for
+     */
+    public String getLocale() {
+        return locale;
+    }
+
+    /**
+     * Names of all the intents defined in this catalog.
+     * @return names of all the intents defined in this catalog
+     */
+    public Set<String> getIntentNames() {
+        return Collections.unmodifiableSet(index.keySet());
+    }
+
+    /**
+     * Returns the unresolved utterances of an intent. Multi-phrases and placeholders
+     * are still contained.
+     * @param intentName the intent name
+     * @return unresolved utterances of an intent. Empty if the intent does not exist.
+     */
+    public List<String> getUtterances(final String intentName) {
+        final IntentPhrases phrases = index.get(intentName);
+        return phrases != null ? phrases.utterances : Collections.emptyList();
+    }
+
+    /**
+     * Returns the compiled utterances of an intent.
+     * @param intentName the intent name
+     * @return compiled utterances of an intent. Empty if the intent does not exist.
+     */
+    public List<UtteranceTemplate> getUtteranceTemplates(final String intentName) {
+        final IntentPhrases phrases = index.get(intentName);
+        return phrases != null ? phrases.utteranceTemplates : Collections.emptyList();
+    }
+
+    /**
+     * Returns the unresolved reprompts of an intent. Multi-phrases and placeholders
+     * are still contained.
+     * @param intentName the intent name
+     * @return unresolved reprompts of an intent. Empty if the intent does not exist.
+     */
+    public List<String> getReprompts(final String intentName) {
+        final IntentPhrases phrases = index.get(intentName);
+        return phrases != null ? phrases.reprompts : Collections.emptyList();
+    }
+
+    /**
+     * Returns the compiled reprompts of an intent.
+     * @param intentName the intent name
+     * @return compiled reprompts of an intent. Empty if the intent does not exist.
+     */
+    public List<UtteranceTemplate> getRepromptTemplates(final String intentName) {
+        final IntentPhrases phrases = index.get(intentName);
+        return phrases != null ? phrases.repromptTemplates : Collections.emptyList();
+    }
+
+    private static String getCacheKey(final UtteranceReader utteranceReader, final String locale) {
+        return utteranceReader.getSourceId() + "|" + utteranceReader.getLeadingPath() + "|" +
+                locale + "|" + utteranceReader.getResourceLocation();
+    }
+
+    private static UtteranceCatalog load(final UtteranceReader utteranceReader, final String locale) {
+        LOG.debug("Parse utterances for locale " + locale + " from " + utteranceReader.getSourceId());
+        // leverage reader to get yaml with utterances
+        final Map<?, ?> yaml = new Yaml().loadAs(utteranceReader.read(locale), Map.class);
+        final Map<String, IntentPhrases> index = new HashMap<>();
+
+        if (yaml != null) {
+            yaml.forEach((key, value) -> {
+                if (key instanceof String) {
+                    // flatten yaml strings values beneath intent node
+                    final List<Object> contents = new ArrayList<>();
+                    flatten(value, contents);
+                    try {
+                        index.put((String) key, new IntentPhrases(getPhrases(contents, 0), getPhrases(contents, 1)));
+                    } catch (final IllegalArgumentException e) {
+                        throw new IllegalArgumentException("Invalid utterance in intent '" + key + "' of " + getFileName(utteranceReader, locale) + ": " + e.getMessage(), e);
+                    }
+                }
+            });
+        }
+        return new UtteranceCatalog(locale, index);
+    }
+
+    private static String getFileName(final UtteranceReader utteranceReader, final String locale) {
+        return utteranceReader.getLeadingPath() + locale + utteranceReader.getResourceLocation() + " (" + utteranceReader.getSourceId() + ")";
+    }
+
+    /**
+     * Recursively go along yaml nodes beneath the given one to flatten string values
+     * @param o YAML node point of start
+     * @param contents flattened values beneath given YAML node
+     */
+    private static void flatten(final Object o, final List<Object> contents) {
+        if (o instanceof Map<?, ?>) {
+            ((Map<?, ?>) o).values().forEach(value -> flatten(value, contents));
+        } else {
+            contents.add(o);
+        }
+    }
+
+    private static List<String> getPhrases(final List<Object> contents, final int index) {
+        if (contents.size() > index) {
+            // group node assumed to be a list
+            final Object assumedUtteranceCollection = contents.get(index);
+
+            if (assumedUtteranceCollection instanceof List) {
+                final List<?> collection = (List<?>) assumedUtteranceCollection;
+                final String[] phrases = new String[collection.size()];
+                for (int i = 0; i < phrases.length; i++) {
+                    phrases[i] = String.valueOf(collection.get(i));
+                }
+                return Collections.unmodifiableList(Arrays.asList(phrases));
+            } else if (assumedUtteranceCollection instanceof String) {
+                return Collections.singletonList((String) assumedUtteranceCollection);
+            }
+        }
+        return Collections.emptyList();
+    }
+
+    private static List<UtteranceTemplate> compile(final List<String> phrases) {
+        final int expansionThreshold = Integer.getInteger(EXPANSION_THRESHOLD_PROPERTY, DEFAULT_EXPANSION_THRESHOLD);
+        final UtteranceTemplate[] templates = new UtteranceTemplate[phrases.size()];
+        for (int i = 0; i < templates.length; i++) {
+            templates[i] = UtteranceTemplate.compile(phrases.get(i), expansionThreshold);
+        }
+        return Collections.unmodifiableList(Arrays.asList(templates));
+    }
+
+    /**
+     * Utterances and reprompts of one intent.
+     */
+    private static final class IntentPhrases {
+        private final List<String> utterances;
+        private final List<String> reprompts;
+        private final List<UtteranceTemplate> utteranceTemplates;
+        private final List<UtteranceTemplate> repromptTemplates;
+
+        private IntentPhrases(final List<String> utterances, final List<String> reprompts) {
+            this.utterances = utterances;
+            this.reprompts = reprompts;
+            this.utteranceTemplates = compile(utterances);
+            this.repromptTemplates = compile(reprompts);
+        }
+    }
+}
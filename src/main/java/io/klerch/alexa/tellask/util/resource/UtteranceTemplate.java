@@ -0,0 +1,559 @@
+/**
+ * Created by Kay Lerch (https://twitter.com/KayLerch)
+ *
+ * Contribute to https://github.com/KayLerch/alexa-skills-kit-tellask-java
+ *
+ * Attached license applies.
+ * This source is licensed under GNU GENERAL PUBLIC LICENSE Version 3 as of 29 June 2007
+ */
+package io.klerch.alexa.tellask.util.resource;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.Validate;
+import org.apache.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * An utterance compiled into a sequence of nodes. Compilation happens once when
+ * utterances are read out from YAML. Rendering an utterance afterwards is done in a
+ * single pass without any parsing. A template consists of literal text, multi-phrases
+ * like [Hello|Hi|Welcome] of which one phrase is picked randomly (optionally weighted
+ * like [Hello::3|Hi] to have Hello picked three times as often as Hi), placeholders like
+ * ${Fragment} referring to another intent in the YAML file and slots like {name} which
+ * are filled in with values of output slots. Templates are immutable and can be rendered
+ * by concurrent threads.
+ * Templates with a small number of combinations and without placeholders can be expanded
+ * into a table of all their variants on compilation. Each variant is stored as literal
+ * segments with the names of slots in between, so rendering is an index pick followed
+ * by appending segments and slot values.
+ */
+public final class UtteranceTemplate {
+    private static final Logger LOG = Logger.getLogger(UtteranceTemplate.class);
+    private static final int ESTIMATED_VALUE_LENGTH = 16;
+    // a weight follows a double colon at the end of a phrase. A single colon like in 10:30 or Note:1 is just text.
+    private static final Pattern WEIGHTED_PHRASE = Pattern.compile("^(.*)::([0-9]+)$", Pattern.DOTALL);
+
+    private final String source;
+    private final Node[] nodes;
+    // null if at least one of the nodes cannot be expanded
+    private final ExpandableNode[] expandableNodes;
+    private final int estimatedLength;
+    // literals at even and slot names at odd positions of each variant
+    private final String[][] variants;
+    // null if all variants are equally weighted
+    private final int[] cumulativeWeights;
+
+    private UtteranceTemplate(final String source, final Node[] nodes, final int maxVariants) {
+        this.source = source;
+        this.nodes = nodes;
+        int length = 0;
+        for (final Node node : nodes) {
+            length += node.getEstimatedLength();
+        }
+        this.estimatedLength = length;
+        this.expandableNodes = asExpandable(nodes);
+        String[][] table = null;
+        int[] weights = null;
+        if (expandableNodes != null && countVariants(expandableNodes, maxVariants) > 0) {
+            // weight of a variant is the product of the weights of the phrases it consists of
+            final long[] variantWeights = expandWeights(expandableNodes);
+            weights = variantWeights != null ? cumulate(variantWeights) : null;
+            table = weights != null ? expand(expandableNodes) : null;
+        }
+        this.variants = table;
+        this.cumulativeWeights = table != null && weights[weights.length - 1] != table.length ? weights : null;
+    }
+
+    /**
+     * Compiles an utterance without expanding it into its variants.
+     * @param utterance the utterance as it is written in the YAML file
+     * @return the compiled utterance
+     * @throws IllegalArgumentException if a weight of a phrase is zero or too high
+     */
+    public static UtteranceTemplate compile(final String utterance) {
+        return compile(utterance, 0);
+    }
+
+    /**
+     * Compiles an utterance and expands it into a table of all its variants in case
+     * it does not have more variants than the given maximum and does not contain any
+     * placeholders.
+     * @param utterance the utterance as it is written in the YAML file
+     * @param maxVariants maximum number of variants to expand an utterance into. Zero
+     *                    or less disables expansion.
+     * @return the compiled utterance
+     * @throws IllegalArgumentException if a weight of a phrase is zero or too high
+     */
+    public static UtteranceTemplate compile(final String utterance, final int maxVariants) {
+        final List<Node> nodes = new ArrayList<>();
+        final StringBuilder literal = new StringBuilder();
+        int i = 0;
+
+        while (i < utterance.length()) {
+            final char c = utterance.charAt(i);
+            int end;
+
+            if (c == '[' && (end = utterance.indexOf(']', i + 1)) > 0) {
+                addLiteral(nodes, literal);
+                nodes.add(new MultiPhrase(utterance.substring(i + 1, end)));
+                i = end + 1;
+            } else if (c == '$' && i + 1 < utterance.length() && utterance.charAt(i + 1) == '{' &&
+                    (end = utterance.indexOf('}', i + 2)) > 0) {
+                addLiteral(nodes, literal);
+                nodes.add(new Placeholder(utterance.substring(i + 2, end)));
+                i = end + 1;
+            } else if (c == '{' && (end = utterance.indexOf('}', i + 1)) > 0) {
+                addLiteral(nodes, literal);
+                nodes.add(new Slot(utterance.substring(i + 1, end)));
+                i = end + 1;
+            } else {
+                literal.append(c);
+                i++;
+            }
+        }
+        addLiteral(nodes, literal);
+        return new UtteranceTemplate(utterance, nodes.toArray(new Node[nodes.size()]), maxVariants);
+    }
+
+    /**
+     * Narrows the given nodes to expandable nodes.
+     * @return the expandable nodes or null if at least one of the nodes cannot be expanded.
+     */
+    private static ExpandableNode[] asExpandable(final Node[] nodes) {
+        final ExpandableNode[] expandable = new ExpandableNode[nodes.length];
+        for (int i = 0; i < nodes.length; i++) {
+            if (!nodes[i].isExpandable()) {
+                return null;
+            }
+            expandable[i] = (ExpandableNode) nodes[i];
+        }
+        return expandable;
+    }
+
+    /**
+     * Counts the variants the given nodes can be expanded into.
+     * @return number of variants or zero if there are more variants than the given maximum.
+     */
+    private static int countVariants(final ExpandableNode[] nodes, final int maxVariants) {
+        long count = 1;
+        for (final ExpandableNode node : nodes) {
+            count *= node.countVariants();
+            if (count > maxVariants) {
+                return 0;
+            }
+        }
+        return (int) count;
+    }
+
+    /**
+     * Multiplies the weights of the phrases each variant consists of.
+     * @return weights of all variants or null if a weight exceeds the range of a long
+     */
+    private static long[] expandWeights(final ExpandableNode[] nodes) {
+        long[] weights = { 1 };
+        for (final ExpandableNode node : nodes) {
+            final int[] nodeWeights = node.getVariantWeights();
+            final long[] expanded = new long[weights.length * nodeWeights.length];
+            for (int i = 0; i < weights.length; i++) {
+                for (int j = 0; j < nodeWeights.length; j++) {
+                    try {
+                        expanded[i * nodeWeights.length + j] = Math.multiplyExact(weights[i], nodeWeights[j]);
+                    } catch (final ArithmeticException e) {
+                        return null;
+                    }
+                }
+            }
+            weights = expanded;
+        }
+        return weights;
+    }
+
+    /**
+     * Sums up weights.
+     * @return cumulative weights or null if the total weight exceeds the range of an integer
+     */
+    private static int[] cumulate(final long[] weights) {
+        final int[] cumulative = new int[weights.length];
+        long total = 0;
+        for (int i = 0; i < weights.length; i++) {
+            total += weights[i];
+            if (total > Integer.MAX_VALUE) {
+                return null;
+            }
+            cumulative[i] = (int) total;
+        }
+        return cumulative;
+    }
+
+    /**
+     * Picks an index either uniformly or according to the given cumulative weights.
+     */
+    private static int choose(final Context context, final int[] cumulativeWeights, final int count) {
+        if (cumulativeWeights == null) {
+            return context.choose(count);
+        }
+        final int index = Arrays.binarySearch(cumulativeWeights, context.choose(cumulativeWeights[cumulativeWeights.length - 1]));
+        return index >= 0 ? index + 1 : -index - 1;
+    }
+
+    private static String[][] expand(final ExpandableNode[] nodes) {
+        // build the cartesian product of all node variants
+        List<List<String>> variants = new ArrayList<>();
+        variants.add(new ArrayList<>(Collections.singletonList("")));
+        for (final ExpandableNode node : nodes) {
+            final List<List<String>> expanded = new ArrayList<>();
+            for (final List<String> variant : variants) {
+                for (final String[] segments : node.getVariants()) {
+                    final List<String> copy = new ArrayList<>(variant);
+                    // first segment of a node is a literal continuing the last one of the variant
+                    copy.set(copy.size() - 1, copy.get(copy.size() - 1) + segments[0]);
+                    copy.addAll(Arrays.asList(segments).subList(1, segments.length));
+                    expanded.add(copy);
+                }
+            }
+            variants = expanded;
+        }
+        final String[][] table = new String[variants.size()][];
+        for (int i = 0; i < table.length; i++) {
+            table[i] = variants.get(i).toArray(new String[variants.get(i).size()]);
+        }
+        return table;
+    }
+
+    private static void addLiteral(final List<Node> nodes, final StringBuilder literal) {
+        if (literal.length() > 0) {
+            nodes.add(new Literal(literal.toString()));
+            literal.setLength(0);
+        }
+    }
+
+    /**
+     * Renders this template into the given buffer.
+     * @param buffer the buffer to append the rendered utterance to
+     * @param context the context resolving multi-phrases, placeholders and slots
+     */
+    public void render(final StringBuilder buffer, final Context context) {
+        if (variants != null) {
+            final String[] segments = variants.length == 1 ? variants[0] : variants[choose(context, cumulativeWeights, variants.length)];
+            for (int i = 0; i < segments.length; i++) {
+                if (i % 2 == 0) {
+                    buffer.append(segments[i]);
+                } else {
+                    context.appendSlot(buffer, segments[i]);
+                }
+            }
+        } else {
+            for (final Node node : nodes) {
+                node.render(buffer, context);
+            }
+        }
+    }
+
+    /**
+     * Renders this template into a new string.
+     * @param context the context resolving multi-phrases, placeholders and slots
+     * @return the rendered utterance
+     */
+    public String render(final Context context) {
+        final StringBuilder buffer = new StringBuilder(estimatedLength);
+        render(buffer, context);
+        return buffer.toString();
+    }
+
+    /**
+     * Returns the estimated length of a rendered utterance. Useful for pre-sizing buffers.
+     * @return estimated length of a rendered utterance
+     */
+    public int getEstimatedLength() {
+        return estimatedLength;
+    }
+
+    /**
+     * Returns if this template was expanded into a table of all its variants on compilation.
+     * @return true if this template was expanded into a table of all its variants
+     */
+    public boolean isExpanded() {
+        return variants != null;
+    }
+
+    /**
+     * Returns the number of variants this template was expanded into.
+     * @return number of variants this template was expanded into. Zero if it was not expanded.
+     */
+    public int getVariantCount() {
+        return variants != null ? variants.length : 0;
+    }
+
+    /**
+     * Returns the utterance as it is written in the YAML file.
+     * @return the utterance as it is written in the YAML file
+     */
+    public String getSource() {
+        return source;
+    }
+
+    @Override
+    public String toString() {
+        return source;
+    }
+
+    /**
+     * Resolves the dynamic portions of a template while it is rendered.
+     */
+    public interface Context {
+        /**
+         * Picks one out of a number of variants or phrases in a multi-phrase. Weighted
+         * phrases are mapped to a range of indexes accordingly.
+         * @param bound number of indexes to choose from. Always greater than zero.
+         * @return the chosen index
+         */
+        int choose(final int bound);
+
+        /**
+         * Appends the utterance of the intent a placeholder refers to.
+         * @param buffer the buffer to append to
+         * @param placeholderName name of the placeholder which is the name of the referenced intent
+         */
+        void appendPlaceholder(final StringBuilder buffer, final String placeholderName);
+
+        /**
+         * Appends the value of a slot.
+         * @param buffer the buffer to append to
+         * @param slotName name of the slot
+         */
+        void appendSlot(final StringBuilder buffer, final String slotName);
+    }
+
+    private interface Node {
+        void render(final StringBuilder buffer, final Context context);
+
+        int getEstimatedLength();
+
+        /**
+         * Whether this node can be expanded into its variants on compilation. Nodes
+         * returning true implement ExpandableNode.
+         */
+        boolean isExpandable();
+    }
+
+    private interface ExpandableNode extends Node {
+        /**
+         * Number of variants this node has.
+         */
+        int countVariants();
+
+        /**
+         * Variants of this node each with literals at even and slot names at odd positions.
+         */
+        String[][] getVariants();
+
+        /**
+         * Weights of the variants of this node in the same order as the variants.
+         */
+        int[] getVariantWeights();
+    }
+
+    private static final class Literal implements ExpandableNode {
+        private final String text;
+
+        private Literal(final String text) {
+            this.text = text;
+        }
+
+        @Override
+        public void render(final StringBuilder buffer, final Context context) {
+            buffer.append(text);
+        }
+
+        @Override
+        public int getEstimatedLength() {
+            return text.length();
+        }
+
+        @Override
+        public boolean isExpandable() {
+            return true;
+        }
+
+        @Override
+        public int countVariants() {
+            return 1;
+        }
+
+        @Override
+        public String[][] getVariants() {
+            return new String[][] { { text } };
+        }
+
+        @Override
+        public int[] getVariantWeights() {
+            return new int[] { 1 };
+        }
+    }
+
+    private static final class MultiPhrase implements ExpandableNode {
+        private final UtteranceTemplate[] phrases;
+        private final int[] weights;
+        // null if all phrases are equally weighted
+        private final int[] cumulativeWeights;
+        private final int estimatedLength;
+
+        private MultiPhrase(final String multiPhrase) {
+            // single phrases are delimited by pipes
+            final String[] phrases = multiPhrase.split("\\|");
+            if (phrases.length == 0) {
+                LOG.warn("Empty multi-phrase collection found in one of your utterances. Gets replaced by an empty string in speechlet response.");
+            }
+            this.phrases = new UtteranceTemplate[phrases.length];
+            this.weights = new int[phrases.length];
+            final long[] phraseWeights = new long[phrases.length];
+            boolean weighted = false;
+            int length = 0;
+            for (int i = 0; i < phrases.length; i++) {
+                String phrase = phrases[i];
+                weights[i] = 1;
+                // a phrase can be given a weight (e.g. Hello::3)
+                final Matcher weightedPhrase = WEIGHTED_PHRASE.matcher(phrase);
+                if (weightedPhrase.matches()) {
+                    phrase = weightedPhrase.group(1);
+                    weights[i] = parseWeight(weightedPhrase.group(2), multiPhrase);
+                    weighted = true;
+                }
+                if (StringUtils.isBlank(phrase)) {
+                    LOG.warn("Empty multi-phrase collection found in one of your utterances. Gets replaced by an empty string in speechlet response.");
+                }
+                this.phrases[i] = compile(phrase);
+                phraseWeights[i] = weights[i];
+                length = Math.max(length, this.phrases[i].getEstimatedLength());
+            }
+            this.cumulativeWeights = weighted ? cumulate(phraseWeights) : null;
+            Validate.isTrue(!weighted || cumulativeWeights != null, "Weights of multi-phrase [" + multiPhrase + "] are too high.");
+            this.estimatedLength = length;
+        }
+
+        private static int parseWeight(final String weight, final String multiPhrase) {
+            int value;
+            try {
+                value = Integer.parseInt(weight);
+            } catch (final NumberFormatException e) {
+                value = 0;
+            }
+            Validate.isTrue(value > 0, "Weight " + weight + " in multi-phrase [" + multiPhrase + "] must be between 1 and " + Integer.MAX_VALUE + ".");
+            return value;
+        }
+
+        @Override
+        public void render(final StringBuilder buffer, final Context context) {
+            if (phrases.length > 0) {
+                // pick random phrase out of the collection
+                phrases[choose(context, cumulativeWeights, phrases.length)].render(buffer, context);
+            }
+        }
+
+        @Override
+        public int getEstimatedLength() {
+            return estimatedLength;
+        }
+
+        @Override
+        public boolean isExpandable() {
+            // phrases cannot contain multi-phrases themselves so each of them has one variant unless it contains a placeholder
+            for (final UtteranceTemplate phrase : phrases) {
+                if (phrase.expandableNodes == null) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public int countVariants() {
+            return Math.max(phrases.length, 1);
+        }
+
+        @Override
+        public String[][] getVariants() {
+            if (phrases.length == 0) {
+                return new String[][] { { "" } };
+            }
+            final String[][] variants = new String[phrases.length][];
+            for (int i = 0; i < phrases.length; i++) {
+                variants[i] = expand(phrases[i].expandableNodes)[0];
+            }
+            return variants;
+        }
+
+        @Override
+        public int[] getVariantWeights() {
+            return phrases.length > 0 ? weights : new int[] { 1 };
+        }
+    }
+
+    private static final class Placeholder implements Node {
+        private final String name;
+
+        private Placeholder(final String name) {
+            this.name = name;
+        }
+
+        @Override
+        public void render(final StringBuilder buffer, final Context context) {
+            context.appendPlaceholder(buffer, name);
+        }
+
+        @Override
+        public int getEstimatedLength() {
+            return ESTIMATED_VALUE_LENGTH;
+        }
+
+        @Override
+        public boolean isExpandable() {
+            // placeholders are resolved at render time
+            return false;
+        }
+    }
+
+    private static final class Slot implements ExpandableNode {
+        private final String name;
+
+        private Slot(final String name) {
+            this.name = name;
+        }
+
+        @Override
+        public void render(final StringBuilder buffer, final Context context) {
+            context.appendSlot(buffer, name);
+        }
+
+        @Override
+        public int getEstimatedLength() {
+            return ESTIMATED_VALUE_LENGTH;
+        }
+
+        @Override
+        public boolean isExpandable() {
+            return true;
+        }
+
+        @Override
+        public int countVariants() {
+            return 1;
+        }
+
+        @Override
+        public String[][] getVariants() {
+            return new String[][] { { "", name, "" } };
+        }
+
+        @Override
+        public int[] getVariantWeights() {
+            return new int[] { 1 };
+        }
+    }
+}
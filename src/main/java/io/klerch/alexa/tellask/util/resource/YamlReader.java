@@ -10,17 +10,11 @@ package io.klerch.alexa.tellask.util.resource;
 
 import io.klerch.alexa.tellask.model.AlexaOutput;
 import io.klerch.alexa.tellask.schema.UtteranceReader;
-import org.apache.commons.lang3.StringUtils;
+import io.klerch.alexa.tellask.schema.VariantSelector;
 import org.apache.commons.lang3.Validate;
-import org.apache.log4j.Logger;
-import org.yaml.snakeyaml.Yaml;
 
 import java.util.*;
-import java.util.function.Function;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import java.util.function.BiConsumer;
 
 /**
  * This reader processes input coming from the resource streams of
@@ -28,12 +22,10 @@ import java.util.stream.Stream;
  * picks one of them randomly.
  */
 public class YamlReader {
-    private static final Logger LOG = Logger.getLogger(YamlReader.class);
-
-    private final UtteranceReader utteranceReader;
-    private final Map<String, List<Object>> phrases = new HashMap<>();
-    private final String locale;
-    private final Map<?, ?> content;
+    private final UtteranceCatalog catalog;
+    private final VariantSelector variantSelector;
+    // slots are kept as they are when rendering phrases to text
+    private final RenderContext textContext = new RenderContext(null);
 
     /**
      * A new YAMLReader needs an UtteranceReader so it can obtain YAML content with utterances.
@@ -43,10 +35,39 @@ public class YamlReader {
      *               YAML file.
      */
     public YamlReader(final UtteranceReader utteranceReader, final String locale) {
-        this.utteranceReader = utteranceReader;
-        this.locale = locale;
-        // leverage reader to get yaml with utterances
-        content = new Yaml().loadAs(utteranceReader.read(locale), Map.class);
+        this(utteranceReader, locale, new RandomVariantSelector());
+    }
+
+    /**
+     * A new YAMLReader needs an UtteranceReader so it can obtain YAML content with utterances.
+     * @param utteranceReader the UtteranceReader reading ot YAML content with utterances
+     * @param locale Localized skills will have multiple YAML files (one for each language). By
+     *               giving this reader a locale it lets the UtteranceReader read out the appropriate
+     *               YAML file.
+     * @param variantSelector picks utterances and phrases of multi-phrases
+     */
+    public YamlReader(final UtteranceReader utteranceReader, final String locale, final VariantSelector variantSelector) {
+        this(UtteranceCatalog.forReader(utteranceReader, locale), variantSelector);
+    }
+
+    /**
+     * A new YAMLReader working on utterances already parsed into a catalog.
+     * @param catalog the catalog with utterances
+     */
+    public YamlReader(final UtteranceCatalog catalog) {
+        this(catalog, new RandomVariantSelector());
+    }
+
+    /**
+     * A new YAMLReader working on utterances already parsed into a catalog.
+     * @param catalog the catalog with utterances
+     * @param variantSelector picks utterances and phrases of multi-phrases
+     */
+    public YamlReader(final UtteranceCatalog catalog, final VariantSelector variantSelector) {
+        Validate.notNull(catalog, "Utterance catalog must not be null.");
+        Validate.notNull(variantSelector, "Variant selector must not be null.");
+        this.catalog = catalog;
+        this.variantSelector = variantSelector;
     }
 
     /**
@@ -82,7 +103,9 @@ public class YamlReader {
      * @return utterance randomly picked from a set of utterances for the given intent
      */
     public Optional<String> getRandomUtterance(final String intentName) {
-        return getRandomOf(getPhrasesForIntent(intentName, 0));
+        Validate.notBlank(intentName, "Intent name is null or empty.");
+        // pick an utterance first and only render the one which is returned
+        return renderRandomOf(catalog.getUtteranceTemplates(intentName), textContext);
     }
 
     /**
@@ -118,98 +141,79 @@ public class YamlReader {
      * @return reprompt utterance randomly picked from a set of reprompt utterances for the given intent
      */
     public Optional<String> getRandomReprompt(final String intentName) {
-        return getRandomOf(getPhrasesForIntent(intentName, 1));
+        Validate.notBlank(intentName, "Intent name is null or empty.");
+        // pick a reprompt first and only render the one which is returned
+        return renderRandomOf(catalog.getRepromptTemplates(intentName), textContext);
     }
 
-    private List<Object> loadUtterances(final String intentName) {
-        // flatten yaml strings values beneath intent node of interest
-        return content.entrySet().stream()
-                .filter(k -> k.getKey().equals(intentName))
-                .flatMap(k -> flatten(k.getValue())).collect(Collectors.toList());
+    /**
+     * Returns an utterance randomly picked from a set of utterances for an intent which is defined in the AlexaOutput.
+     * Slots in the utterance are filled in by the given appender which writes the value of a slot straight into the
+     * rendered utterance. Only the picked utterance is rendered.
+     * @param output The AlexaOutput containing the intent name.
+     * @param slotAppender appends the value of a slot given its name to the buffer of the rendered utterance
+     * @return utterance randomly picked from a set of utterances for an intent which is defined in the AlexaOutput
+     */
+    public Optional<String> getRandomUtterance(final AlexaOutput output, final BiConsumer<StringBuilder, String> slotAppender) {
+        Validate.notBlank(output.getIntentName(), "Intent name is null or empty.");
+        return renderRandomOf(catalog.getUtteranceTemplates(output.getIntentName()), new RenderContext(slotAppender));
     }
 
     /**
-     * Recursively go along yaml nodes beneath the given one to flatten string values
-     * @param o YAML node point of start
-     * @return flattened values beneath given YAML node
+     * Returns a reprompt utterance randomly picked from a set of reprompt utterances for an intent which is defined
+     * in the AlexaOutput. Slots in the reprompt are filled in by the given appender which writes the value of a slot
+     * straight into the rendered reprompt. Only the picked reprompt is rendered.
+     * @param output The AlexaOutput containing the intent name.
+     * @param slotAppender appends the value of a slot given its name to the buffer of the rendered reprompt
+     * @return reprompt utterance randomly picked from a set of reprompt utterances for an intent which is defined in the AlexaOutput
      */
-    private Stream<Object> flatten(final Object o) {
-        if (o instanceof Map<?, ?>) {
-            return ((Map<?, ?>) o).values().stream().flatMap(this::flatten);
-        }
-        return Stream.of(o);
+    public Optional<String> getRandomReprompt(final AlexaOutput output, final BiConsumer<StringBuilder, String> slotAppender) {
+        Validate.notBlank(output.getIntentName(), "Intent name is null or empty.");
+        return renderRandomOf(catalog.getRepromptTemplates(output.getIntentName()), new RenderContext(slotAppender));
     }
 
-    @SuppressWarnings("unchecked")
     private List<String> getPhrasesForIntent(final String intentName, final Integer index) {
         Validate.notBlank(intentName, "Intent name is null or empty.");
-        // return list of utterances if already read out and saved to local list
-        final List<Object> contents = phrases.entrySet().stream()
-                .filter(k -> k.getKey().equals(intentName))
-                .findFirst()
-                // otherwise load utterances from resource of utterance reader
-                .orElse(new AbstractMap.SimpleEntry<>(intentName, loadUtterances(intentName)))
-                .getValue();
-        // cache the result
-        phrases.putIfAbsent(intentName, contents);
-
-        final List<String> utterances = new ArrayList<>();
-
-        if (contents.size() > index) {
-            // group node assumed to be an array list
-            final Object assumedUtteranceCollection = contents.get(index);
-
-            if (assumedUtteranceCollection instanceof ArrayList) {
-                // parse each phrase as string and add to return collection
-                ((ArrayList) assumedUtteranceCollection)
-                        .stream()
-                        .map(resolveMultiPhrases)
-                        .map(resolvePlaceholders)
-                        .forEach(utterance -> utterances.add(String.valueOf(utterance)));
-            } else if (assumedUtteranceCollection instanceof String) {
-                utterances.add(String.valueOf(assumedUtteranceCollection));
-            }
-        }
+        // look up the compiled phrases in the index of the catalog
+        final List<UtteranceTemplate> templates = index == 0 ? catalog.getUtteranceTemplates(intentName) : catalog.getRepromptTemplates(intentName);
+        final List<String> utterances = new ArrayList<>(templates.size());
+        templates.forEach(template -> utterances.add(template.render(textContext)));
         return utterances;
     }
 
-    private Function<Object, String> resolveMultiPhrases = (final Object utterance) -> {
-        final StringBuffer buffer = new StringBuffer();
-        // extract all the phrase collection (e.g. [Hello|Hi|Welcome] found in the utterance
-        final Matcher multiPhrases = Pattern.compile("\\[(.*?)\\]").matcher(utterance.toString());
-        // for any of the multi-phrases ...
-        while (multiPhrases.find()) {
-            final String multiPhrase = multiPhrases.group(1);
-            // single phrases are delimited by pipes
-            final List<String> multiPhraseCollection = Arrays.asList(multiPhrase.split("\\|"));
-            // pick random phrase out of the collection
-            final String randomPhrase = getRandomOf(multiPhraseCollection).orElse("");
-            if (StringUtils.isBlank(randomPhrase)) {
-                LOG.warn("Empty multi-phrase collection found in one of your utterances. Got replaced by an empty string in speechlet response.");
-            }
-            multiPhrases.appendReplacement(buffer, randomPhrase);
+    private Optional<String> renderRandomOf(final List<UtteranceTemplate> templates, final RenderContext context) {
+        return templates.isEmpty() ? Optional.empty() : Optional.of(templates.get(variantSelector.select(templates.size())).render(context));
+    }
+
+    /**
+     * Resolves multi-phrases, placeholders and slots while rendering a compiled utterance.
+     */
+    private class RenderContext implements UtteranceTemplate.Context {
+        private final BiConsumer<StringBuilder, String> slotAppender;
+
+        private RenderContext(final BiConsumer<StringBuilder, String> slotAppender) {
+            this.slotAppender = slotAppender;
+        }
+
+        @Override
+        public int choose(final int bound) {
+            return variantSelector.select(bound);
         }
-        multiPhrases.appendTail(buffer);
-        return buffer.toString();
-    };
-
-    private Function<Object, String> resolvePlaceholders = (final Object utterance) -> {
-        final StringBuffer buffer = new StringBuffer();
-        // extract all the placeholders (e.g. ${placeholder}) found in the utterance
-        final Matcher placeholders = Pattern.compile("\\$\\{(.*?)\\}").matcher(utterance.toString());
-        // for any of the placeholders ...
-        while (placeholders.find()) {
-            final String placeholderName = placeholders.group(1);
-            final List<String> placeholderValues = getPhrasesForIntent(placeholderName, 0);
 
+        @Override
+        public void appendPlaceholder(final StringBuilder buffer, final String placeholderName) {
+            final List<UtteranceTemplate> placeholderValues = catalog.getUtteranceTemplates(placeholderName);
             Validate.notEmpty(placeholderValues, "Utterance placeholder with name '" + placeholderName + "' could not be resolved.");
-            placeholders.appendReplacement(buffer, placeholderValues.get(0));
+            placeholderValues.get(0).render(buffer, this);
         }
-        placeholders.appendTail(buffer);
-        return resolveMultiPhrases.apply(buffer.toString());
-    };
 
-    private Optional<String> getRandomOf(final List<String> list) {
-        return list.isEmpty() ? Optional.empty() : Optional.of(list.get(new Random().nextInt(list.size())));
+        @Override
+        public void appendSlot(final StringBuilder buffer, final String slotName) {
+            if (slotAppender != null) {
+                slotAppender.accept(buffer, slotName);
+            } else {
+                buffer.append('{').append(slotName).append('}');
+            }
+        }
     }
 }
@@ -15,9 +15,13 @@ import com.amazon.speech.speechlet.*;
 import com.amazonaws.services.lambda.runtime.ClientContext;
 import com.amazonaws.services.lambda.runtime.CognitoIdentity;
 import com.amazonaws.services.lambda.runtime.Context;
+import com.amazon.speech.ui.PlainTextOutputSpeech;
 import com.amazonaws.services.lambda.runtime.LambdaLogger;
 import io.klerch.alexa.tellask.model.AlexaInput;
 import io.klerch.alexa.tellask.model.AlexaOutput;
+import io.klerch.alexa.tellask.model.wrapper.AlexaSpeechlet;
+import io.klerch.alexa.tellask.util.resource.ResourceUtteranceReader;
+import org.apache.commons.lang3.StringUtils;
 
 import java.util.Date;
 import java.util.HashMap;
@@ -149,10 +153,25 @@ public class ModelFactory {
     }
 
     public static AlexaInput givenAlexaInput(final String locale, final String intentName) {
-        return new AlexaInput(givenIntentRequest(intentName), givenSession(), locale, givenAlexaContext());
+        return givenAlexaInput(locale, intentName, null);
+    }
+
+    public static AlexaInput givenAlexaInput(final String locale, final String intentName, final Map<String, Slot> slots) {
+        return new AlexaInput(givenIntentRequest(intentName, slots), givenSession(), locale, givenAlexaContext());
     }
 
     public static AlexaOutput givenAlexaOutputWithIntent(final String intentName) {
         return AlexaOutput.ask(intentName).build();
     }
+
+    public static AlexaSpeechlet givenSpeechletLaunchingWithSpeechOfLength(final int length) {
+        return new AlexaSpeechlet("en-US", new ResourceUtteranceReader()) {
+            @Override
+            public SpeechletResponse onLaunch(final SpeechletRequestEnvelope<LaunchRequest> envelope) {
+                final PlainTextOutputSpeech outputSpeech = new PlainTextOutputSpeech();
+                outputSpeech.setText(StringUtils.repeat('a', length));
+                return SpeechletResponse.newTellResponse(outputSpeech);
+            }
+        };
+    }
 }
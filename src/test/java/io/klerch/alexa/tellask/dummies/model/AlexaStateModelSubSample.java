@@ -0,0 +1,27 @@
+/**
+ * Created by Kay Lerch (https://twitter.com/KayLerch)
+ *
+ * Contribute to https://github.com/KayLerch/alexa-skills-kit-tellask-java
+ *
+ * Attached license applies.
+ * This source is licensed under GNU GENERAL PUBLIC LICENSE Version 3 as of 29 June 2007
+ */
+package io.klerch.alexa.tellask.dummies.model;
+
+import io.klerch.alexa.tellask.schema.annotation.AlexaSlotSave;
+
+public class AlexaStateModelSubSample extends AlexaStateModelSample {
+    @AlexaSlotSave(slotName = "slot1")
+    private String overriddenSlotSave;
+
+    @AlexaSlotSave(slotName = "subSlot")
+    private String subSlotSave;
+
+    public void setOverriddenSlotSave(String overriddenSlotSave) {
+        this.overriddenSlotSave = overriddenSlotSave;
+    }
+
+    public void setSubSlotSave(String subSlotSave) {
+        this.subSlotSave = subSlotSave;
+    }
+}
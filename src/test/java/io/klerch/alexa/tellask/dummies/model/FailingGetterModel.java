@@ -0,0 +1,21 @@
+/**
+ * Created by Kay Lerch (https://twitter.com/KayLerch)
+ *
+ * Contribute to https://github.com/KayLerch/alexa-skills-kit-tellask-java
+ *
+ * Attached license applies.
+ * This source is licensed under GNU GENERAL PUBLIC LICENSE Version 3 as of 29 June 2007
+ */
+package io.klerch.alexa.tellask.dummies.model;
+
+import io.klerch.alexa.state.model.AlexaStateModel;
+import io.klerch.alexa.tellask.schema.annotation.AlexaSlotSave;
+
+public class FailingGetterModel extends AlexaStateModel {
+    @AlexaSlotSave(slotName = "name")
+    private String name;
+
+    public String getName() {
+        throw new IllegalStateException("Name cannot be read.");
+    }
+}
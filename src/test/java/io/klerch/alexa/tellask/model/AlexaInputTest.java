@@ -175,6 +175,26 @@ public class AlexaInputTest {
         Assert.assertFalse(input.hasSlotNotBlank("slotThatDoesNotExist"));
     }
 
+    @Test
+    public void testHasSlotRepeatedly() throws Exception {
+        final IntentRequest request = ModelFactory.givenIntentRequest("intentName", givenSlots());
+        final Session session = ModelFactory.givenSession();
+        final Context context = ModelFactory.givenAlexaContext();
+        final AlexaInput input = new AlexaInput(request, session, LOCALE, context);
+
+        // results of an analyzed slot are the same when checked again
+        for (int i = 0; i < 2; i++) {
+            Assert.assertTrue(input.hasSlotIsNumber("slotNumber"));
+            Assert.assertTrue(input.hasSlotNotBlank("slotNumber"));
+            Assert.assertFalse(input.hasSlotIsTrue("slotNumber"));
+            Assert.assertTrue(input.hasSlotIsDoubleMetaphoneEqual("slotString", "valui"));
+            Assert.assertFalse(input.hasSlotIsDoubleMetaphoneEqual("slotString", "not-value"));
+            Assert.assertTrue(input.hasSlotIsCologneEqual("slotString", "walu"));
+            Assert.assertFalse(input.hasSlotIsNumber("slotThatDoesNotExist"));
+            Assert.assertFalse(input.hasSlotIsCologneEqual("slotNull", "value"));
+        }
+    }
+
     @Test
     public void testGetSlotValue() throws Exception {
         final IntentRequest request = ModelFactory.givenIntentRequest("intentName", givenSlots());
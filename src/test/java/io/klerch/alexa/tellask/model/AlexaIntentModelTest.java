@@ -12,7 +12,10 @@ import io.klerch.alexa.state.handler.AlexaSessionStateHandler;
 import io.klerch.alexa.state.model.AlexaStateModel;
 import io.klerch.alexa.tellask.ModelFactory;
 import io.klerch.alexa.tellask.dummies.model.AlexaStateModelSample;
+import io.klerch.alexa.tellask.dummies.model.AlexaStateModelSubSample;
+import io.klerch.alexa.tellask.dummies.model.FailingGetterModel;
 import io.klerch.alexa.tellask.dummies.model.StateModel;
+import io.klerch.alexa.tellask.schema.annotation.AlexaSlotSave;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
@@ -78,4 +81,52 @@ public class AlexaIntentModelTest {
         Assert.assertTrue(intentModel.getOutputSlot("name").isPresent());
         Assert.assertEquals("Olaf", intentModel.getOutputSlot("name").get().getValue());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void getOutputSlotNames() throws Exception {
+        final AlexaIntentModel intentModel = new AlexaIntentModel(new AlexaStateModelSample());
+        Assert.assertEquals(2, intentModel.getOutputSlotNames().size());
+        Assert.assertTrue(intentModel.getOutputSlotNames().contains("slot1"));
+        Assert.assertTrue(intentModel.getOutputSlotNames().contains("name"));
+
+        final AlexaIntentModel intentModel2 = new AlexaIntentModel(new StateModel());
+        Assert.assertTrue(intentModel2.getOutputSlotNames().isEmpty());
+    }
+
+    @Test
+    public void getOutputSlotOfSuperClass() throws Exception {
+        final AlexaStateModelSubSample model = new AlexaStateModelSubSample();
+        model.setName("Olaf");
+        model.setOverriddenSlotSave("overridden");
+        model.setSubSlotSave("sub");
+        final AlexaIntentModel intentModel = new AlexaIntentModel(model);
+        Assert.assertEquals(3, intentModel.getOutputSlotNames().size());
+        // fields of the super class are considered
+        Assert.assertEquals("Olaf", intentModel.getOutputSlot("name").get().getValue());
+        Assert.assertEquals("sub", intentModel.getOutputSlot("subSlot").get().getValue());
+        // fields of the subclass win over fields of the super class
+        Assert.assertEquals("overridden", intentModel.getOutputSlot("slot1").get().getValue());
+    }
+
+    @Test
+    public void getOutputSlotWithFailingGetter() throws Exception {
+        // read out with a generated slot accessor
+        final AlexaIntentModel intentModel = new AlexaIntentModel(new FailingGetterModel());
+        Assert.assertTrue(intentModel.hasOutputSlot("name"));
+        Assert.assertFalse(intentModel.getOutputSlot("name").isPresent());
+
+        // read out with reflection as the model is private
+        final AlexaIntentModel intentModel2 = new AlexaIntentModel(new PrivateFailingGetterModel());
+        Assert.assertTrue(intentModel2.hasOutputSlot("name"));
+        Assert.assertFalse(intentModel2.getOutputSlot("name").isPresent());
+    }
+
+    private static class PrivateFailingGetterModel extends AlexaStateModel {
+        @AlexaSlotSave(slotName = "name")
+        private String name;
+
+        public String getName() {
+            throw new IllegalStateException("Name cannot be read.");
+        }
+    }
+}
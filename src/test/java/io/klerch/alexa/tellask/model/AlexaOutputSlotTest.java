@@ -66,6 +66,13 @@ public class AlexaOutputSlotTest {
         Assert.assertEquals(format.getSsml(slot.getValue()), ssml);
     }
 
+    @Test
+    public void appendSsml() throws Exception {
+        final StringBuilder buffer = new StringBuilder("Score is ");
+        new AlexaOutputSlot("score", 123).formatAs(AlexaOutputFormat.NUMBER).appendSsml(buffer);
+        Assert.assertEquals("Score is <say-as interpret-as=\"number\">123</say-as>", buffer.toString());
+    }
+
     @Test
     public void getNameValue() throws Exception {
         final AlexaOutputSlot slot = new AlexaOutputSlot("name", "value");
@@ -101,6 +101,28 @@ public class AlexaOutputTest {
 
     }
 
+    @Test
+    public void getOutputSlot() throws Exception {
+        final AlexaStateModelSample model = new AlexaStateModelSample();
+        model.setName("Olaf");
+        final AlexaOutputSlot slot = new AlexaOutputSlot("slotName", "value");
+        final AlexaOutput output = AlexaOutput.ask("intentName")
+                .putSlot(slot)
+                .putSlot("slotName", "otherValue")
+                .putState(model)
+                .build();
+        // first slot put to the output wins
+        Assert.assertEquals(slot, output.getOutputSlot("slotName").orElse(null));
+        // slots of models are considered as well
+        Assert.assertTrue(output.getOutputSlot("name").isPresent());
+        Assert.assertEquals("Olaf", output.getOutputSlot("name").get().getValue());
+        Assert.assertFalse(output.getOutputSlot("this-does-not-exist").isPresent());
+
+        // slots put to the output are preferred over slots of models
+        final AlexaOutput output2 = AlexaOutput.ask("intentName").putState(model).putSlot("name", "Sven").build();
+        Assert.assertEquals("Sven", output2.getOutputSlot("name").get().getValue());
+    }
+
     @Test
     public void getCard() throws Exception {
         final StandardCard card = new StandardCard();
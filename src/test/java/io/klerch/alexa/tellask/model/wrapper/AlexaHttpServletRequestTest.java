@@ -0,0 +1,98 @@
+/**
+ * Created by Kay Lerch (https://twitter.com/KayLerch)
+ *
+ * Contribute to https://github.com/KayLerch/alexa-skills-kit-tellask-java
+ *
+ * Attached license applies.
+ * This source is licensed under GNU GENERAL PUBLIC LICENSE Version 3 as of 29 June 2007
+ */
+package io.klerch.alexa.tellask.model.wrapper;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.mockito.Mockito;
+
+import javax.servlet.ServletInputStream;
+import javax.servlet.http.HttpServletRequest;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.mockito.Mockito.when;
+
+public class AlexaHttpServletRequestTest {
+    @Rule
+    public final ExpectedException exception = ExpectedException.none();
+
+    private final byte[] body = "{\n  \"text\": \"Gr\u00fc\u00dfe\"\n}".getBytes(StandardCharsets.UTF_8);
+
+    private HttpServletRequest givenServletRequest(final int contentLength) throws Exception {
+        return givenServletRequest(body, contentLength);
+    }
+
+    private HttpServletRequest givenServletRequest(final byte[] body, final int contentLength) throws Exception {
+        final HttpServletRequest request = Mockito.mock(HttpServletRequest.class);
+        final InputStream stream = new ByteArrayInputStream(body);
+        final ServletInputStream servletInputStream = new ServletInputStream() {
+            @Override
+            public int read() throws IOException {
+                return stream.read();
+            }
+        };
+        when(request.getInputStream()).thenReturn(servletInputStream);
+        when(request.getContentLength()).thenReturn(contentLength);
+        return request;
+    }
+
+    @Test
+    public void getBodyWithContentLength() throws Exception {
+        final AlexaHttpServletRequest request = new AlexaHttpServletRequest(givenServletRequest(body.length));
+        Assert.assertArrayEquals(body, request.getBody());
+        Assert.assertEquals(body.length, request.getContentLength());
+    }
+
+    @Test
+    public void getBodyWithoutContentLength() throws Exception {
+        Assert.assertArrayEquals(body, new AlexaHttpServletRequest(givenServletRequest(-1)).getBody());
+        Assert.assertArrayEquals(body, new AlexaHttpServletRequest(givenServletRequest(0)).getBody());
+    }
+
+    @Test
+    public void getBodyWithWrongContentLength() throws Exception {
+        Assert.assertArrayEquals(body, new AlexaHttpServletRequest(givenServletRequest(body.length - 5)).getBody());
+        Assert.assertArrayEquals(body, new AlexaHttpServletRequest(givenServletRequest(body.length + 5)).getBody());
+    }
+
+    @Test
+    public void getBodyWithHugeContentLength() throws Exception {
+        Assert.assertArrayEquals(body, new AlexaHttpServletRequest(givenServletRequest(Integer.MAX_VALUE)).getBody());
+    }
+
+    @Test
+    public void getBodyLargerThanInitialBuffer() throws Exception {
+        final byte[] largeBody = new byte[100 * 1024 + 3];
+        Arrays.fill(largeBody, (byte) 'a');
+        Assert.assertArrayEquals(largeBody, new AlexaHttpServletRequest(givenServletRequest(largeBody, -1)).getBody());
+        Assert.assertArrayEquals(largeBody, new AlexaHttpServletRequest(givenServletRequest(largeBody, largeBody.length)).getBody());
+    }
+
+    @Test
+    public void getBodyExceedingMaxSize() throws Exception {
+        final byte[] largeBody = new byte[AlexaHttpServletRequest.MAX_BODY_SIZE + 1];
+        exception.expect(IOException.class);
+        new AlexaHttpServletRequest(givenServletRequest(largeBody, -1));
+    }
+
+    @Test
+    public void readBodyMoreThanOnce() throws Exception {
+        final AlexaHttpServletRequest request = new AlexaHttpServletRequest(givenServletRequest(body.length));
+        Assert.assertArrayEquals(body, IOUtils.toByteArray(request.getInputStream()));
+        Assert.assertArrayEquals(body, IOUtils.toByteArray(request.getInputStream()));
+        Assert.assertEquals(new String(body, StandardCharsets.UTF_8), IOUtils.toString(request.getReader()));
+    }
+}
@@ -19,21 +19,68 @@ import io.klerch.alexa.tellask.ModelFactory;
 import io.klerch.alexa.tellask.dummies.SampleAlexaSpeechlet;
 import io.klerch.alexa.tellask.dummies.lambda.SampleRequestStreamHandler;
 import io.klerch.alexa.tellask.dummies.lambda.SampleRequestStreamHandler2;
+import io.klerch.alexa.tellask.schema.UtteranceReader;
 import io.klerch.alexa.tellask.util.resource.ResourceUtteranceReader;
 import io.klerch.alexa.tellask.util.resource.S3UtteranceReader;
 import org.apache.commons.io.output.ByteArrayOutputStream;
 import org.junit.Assert;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.ExpectedException;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 
 public class AlexaRequestStreamHandlerTest {
+    @Rule
+    public final ExpectedException exception = ExpectedException.none();
+
+    @Test
+    public void createWithoutApplicationIds() throws Exception {
+        final AlexaRequestStreamHandler handler = new AlexaRequestStreamHandler() {};
+        // configuration is validated on the first request
+        exception.expect(IllegalArgumentException.class);
+        handler.handleRequest(convertToStream(ModelFactory.givenLaunchSpeechletRequestEnvelope("applicationId")), new ByteArrayOutputStream(), ModelFactory.givenLambdaContext());
+    }
+
+    @Test
+    public void handleRequestWithConfigurationFromFields() throws Exception {
+        // getters of the subclass return fields which are not initialized while the base class is constructed
+        final AlexaRequestStreamHandler handler = new AlexaRequestStreamHandler() {
+            private final Set<String> applicationIds = Collections.singleton("applicationId");
+            private final UtteranceReader utteranceReader = new ResourceUtteranceReader();
+
+            @Override
+            public Set<String> getSupportedApplicationIds() {
+                return applicationIds;
+            }
+
+            @Override
+            public UtteranceReader getUtteranceReader() {
+                return utteranceReader;
+            }
+        };
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        handler.handleRequest(convertToStream(ModelFactory.givenLaunchSpeechletRequestEnvelope("applicationId")), outputStream, ModelFactory.givenLambdaContext());
+        Assertions.assertValidLaunchResponse(convertToResponseEnvelope(outputStream));
+    }
+
+    @Test
+    public void handleRequestsWithOneHandler() throws Exception {
+        final SampleRequestStreamHandler handler = new SampleRequestStreamHandler();
+        for (int i = 0; i < 3; i++) {
+            final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            handler.handleRequest(convertToStream(ModelFactory.givenLaunchSpeechletRequestEnvelope("applicationId")), outputStream, ModelFactory.givenLambdaContext());
+            Assertions.assertValidLaunchResponse(convertToResponseEnvelope(outputStream));
+        }
+    }
 
     @Test
     public void getUtteranceReader() throws Exception {
@@ -0,0 +1,118 @@
+/**
+ * Created by Kay Lerch (https://twitter.com/KayLerch)
+ *
+ * Contribute to https://github.com/KayLerch/alexa-skills-kit-tellask-java
+ *
+ * Attached license applies.
+ * This source is licensed under GNU GENERAL PUBLIC LICENSE Version 3 as of 29 June 2007
+ */
+package io.klerch.alexa.tellask.model.wrapper;
+
+import com.amazon.speech.json.SpeechletRequestEnvelope;
+import com.amazon.speech.json.SpeechletResponseEnvelope;
+import com.amazon.speech.speechlet.SpeechletRequestHandlerException;
+import com.amazon.speech.speechlet.verifier.ApplicationIdSpeechletRequestEnvelopeVerifier;
+import com.amazon.speech.speechlet.verifier.OutputSpeechSpeechletResponseVerifier;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.klerch.alexa.tellask.Assertions;
+import io.klerch.alexa.tellask.ModelFactory;
+import io.klerch.alexa.tellask.dummies.SampleAlexaSpeechlet;
+import io.klerch.alexa.tellask.schema.VariantSelector;
+import io.klerch.alexa.tellask.util.factory.AlexaSpeechletFactory;
+import io.klerch.alexa.tellask.util.resource.ResourceUtteranceReader;
+import io.klerch.alexa.tellask.util.resource.SeededVariantSelector;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Collections;
+
+public class AlexaSpeechletRequestHandlerTest {
+    @Rule
+    public final ExpectedException exception = ExpectedException.none();
+
+    private final AlexaSpeechletRequestHandler handler = new AlexaSpeechletRequestHandler(
+            Collections.singletonList(new ApplicationIdSpeechletRequestEnvelopeVerifier(Collections.singleton("applicationId"))),
+            Collections.singletonList(new OutputSpeechSpeechletResponseVerifier()));
+
+    @Test
+    public void handleLaunchRequest() throws Exception {
+        final SpeechletRequestEnvelope<?> envelope = ModelFactory.givenLaunchSpeechletRequestEnvelope("applicationId");
+        final SampleAlexaSpeechlet speechlet = AlexaSpeechletFactory.createSpeechletFromRequest(envelope, SampleAlexaSpeechlet.class, new ResourceUtteranceReader());
+
+        final byte[] response = handler.handleSpeechletCall(speechlet, envelope);
+        Assertions.assertValidLaunchResponse(new ObjectMapper().readValue(response, SpeechletResponseEnvelope.class));
+    }
+
+    @Test
+    public void handleLaunchRequestIntoStream() throws Exception {
+        final SpeechletRequestEnvelope<?> envelope = ModelFactory.givenLaunchSpeechletRequestEnvelope("applicationId");
+        // each response is rendered with the same sequence of picks so both responses are equal
+        final SampleAlexaSpeechlet speechlet = new SampleAlexaSpeechlet(AlexaSpeechletFactory.DEFAULT_LOCALE, new ResourceUtteranceReader()) {
+            @Override
+            protected VariantSelector getVariantSelector() {
+                return new SeededVariantSelector(42);
+            }
+        };
+
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        handler.handleSpeechletCall(speechlet, envelope, output);
+        Assertions.assertValidLaunchResponse(new ObjectMapper().readValue(output.toByteArray(), SpeechletResponseEnvelope.class));
+
+        // buffer is reused for the next response
+        final ByteArrayOutputStream output2 = new ByteArrayOutputStream();
+        handler.handleSpeechletCall(speechlet, envelope, output2);
+        Assert.assertArrayEquals(output.toByteArray(), output2.toByteArray());
+    }
+
+    @Test
+    public void handleTooLargeResponse() throws Exception {
+        final SpeechletRequestEnvelope<?> envelope = ModelFactory.givenLaunchSpeechletRequestEnvelope("applicationId");
+        final AlexaSpeechlet speechlet = ModelFactory.givenSpeechletLaunchingWithSpeechOfLength(AlexaSpeechletRequestHandler.MAX_RESPONSE_SIZE);
+
+        exception.expect(SpeechletRequestHandlerException.class);
+        handler.handleSpeechletCall(speechlet, envelope);
+    }
+
+    @Test
+    public void handleTooLargeResponseWritesNothing() throws Exception {
+        final SpeechletRequestEnvelope<?> envelope = ModelFactory.givenLaunchSpeechletRequestEnvelope("applicationId");
+        final AlexaSpeechlet speechlet = ModelFactory.givenSpeechletLaunchingWithSpeechOfLength(AlexaSpeechletRequestHandler.MAX_RESPONSE_SIZE);
+
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try {
+            handler.handleSpeechletCall(speechlet, envelope, output);
+            Assert.fail("Response exceeding the maximum size must be rejected.");
+        } catch (final SpeechletRequestHandlerException e) {
+            Assert.assertEquals(0, output.size());
+        }
+        // the next response of the same thread is not affected
+        final SampleAlexaSpeechlet sampleSpeechlet = AlexaSpeechletFactory.createSpeechletFromRequest(envelope, SampleAlexaSpeechlet.class, new ResourceUtteranceReader());
+        Assertions.assertValidLaunchResponse(new ObjectMapper().readValue(handler.handleSpeechletCall(sampleSpeechlet, envelope), SpeechletResponseEnvelope.class));
+    }
+
+    @Test
+    public void handleUnsupportedApplicationIdWritesNothing() throws Exception {
+        final SpeechletRequestEnvelope<?> envelope = ModelFactory.givenLaunchSpeechletRequestEnvelope("anotherApplicationId");
+        final SampleAlexaSpeechlet speechlet = AlexaSpeechletFactory.createSpeechletFromRequest(envelope, SampleAlexaSpeechlet.class, new ResourceUtteranceReader());
+
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try {
+            handler.handleSpeechletCall(speechlet, envelope, output);
+            Assert.fail("Request with unsupported application id must be rejected.");
+        } catch (final SpeechletRequestHandlerException e) {
+            Assert.assertEquals(0, output.size());
+        }
+    }
+
+    @Test
+    public void handleUnsupportedApplicationId() throws Exception {
+        final SpeechletRequestEnvelope<?> envelope = ModelFactory.givenLaunchSpeechletRequestEnvelope("anotherApplicationId");
+        final SampleAlexaSpeechlet speechlet = AlexaSpeechletFactory.createSpeechletFromRequest(envelope, SampleAlexaSpeechlet.class, new ResourceUtteranceReader());
+
+        exception.expect(SpeechletRequestHandlerException.class);
+        handler.handleSpeechletCall(speechlet, envelope);
+    }
+}
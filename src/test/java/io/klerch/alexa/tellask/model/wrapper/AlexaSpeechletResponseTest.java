@@ -19,6 +19,8 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 public class AlexaSpeechletResponseTest {
     @Rule
     public ExpectedException exception = ExpectedException.none();
@@ -127,4 +129,28 @@ public class AlexaSpeechletResponseTest {
         exception.expect(NullPointerException.class);
         new AlexaSpeechletResponse(output, new ResourceUtteranceReader(), "en-US");
     }
-}
\ No newline at end of file
+
+    @Test
+    public void getResponseRendersOnlyOnce() throws Exception {
+        final AlexaStateModelSample model = new AlexaStateModelSample();
+        model.setName("Paul");
+
+        final AlexaOutput output = AlexaOutput
+                .ask("IntentWithReprompts")
+                .withReprompt(true)
+                .putSlot("credits", 123, AlexaOutputFormat.NUMBER)
+                .putState(model).build();
+
+        final AtomicInteger selections = new AtomicInteger();
+        final AlexaSpeechletResponse response = new AlexaSpeechletResponse(output, new ResourceUtteranceReader(), "en-US", bound -> {
+            selections.incrementAndGet();
+            return 0;
+        });
+        final int selectionsOnConstruct = selections.get();
+
+        Assert.assertSame(response.getOutputSpeech(), response.getOutputSpeech());
+        Assert.assertSame(response.getReprompt(), response.getReprompt());
+        Assert.assertNotNull(response.getReprompt());
+        Assert.assertEquals(selectionsOnConstruct, selections.get());
+    }
+}
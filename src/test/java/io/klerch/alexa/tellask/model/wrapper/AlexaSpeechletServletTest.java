@@ -12,6 +12,10 @@ import com.amazon.speech.Sdk;
 import com.amazon.speech.json.SpeechletRequestEnvelope;
 import com.amazon.speech.json.SpeechletResponseEnvelope;
 import com.amazon.speech.slu.Slot;
+import com.amazon.speech.speechlet.SpeechletV2;
+import com.amazon.speech.speechlet.verifier.CardSpeechletResponseVerifier;
+import com.amazon.speech.speechlet.verifier.OutputSpeechSpeechletResponseVerifier;
+import com.amazon.speech.speechlet.verifier.SpeechletResponseVerifier;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.klerch.alexa.tellask.Assertions;
@@ -35,6 +39,7 @@ import java.io.*;
 import java.io.ByteArrayOutputStream;
 import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import static org.mockito.Mockito.when;
@@ -77,6 +82,20 @@ public class AlexaSpeechletServletTest {
         Assert.assertTrue(servlet2.getSupportedApplicationIds().contains("applicationId"));
     }
 
+    @Test
+    public void speechletIsCreatedOnce() throws Exception {
+        final AlexaSpeechletServlet servlet = new SampleServlet();
+        // speechlet is created on first request
+        Assert.assertNull(servlet.getSpeechletV2());
+
+        doPost(servlet, ModelFactory.givenLaunchSpeechletRequestEnvelope("applicationId"));
+        final SpeechletV2 speechlet = servlet.getSpeechletV2();
+        Assert.assertTrue(speechlet instanceof SampleAlexaSpeechlet);
+
+        doPost(servlet, ModelFactory.givenLaunchSpeechletRequestEnvelope("applicationId"));
+        Assert.assertSame(speechlet, servlet.getSpeechletV2());
+    }
+
     @Test
     public void doLaunchPost() throws Exception {
         final AlexaSpeechletServlet servlet = new SampleServlet();
@@ -97,7 +116,53 @@ public class AlexaSpeechletServletTest {
         Assertions.assertValidIntentResponse(responseEnvelope);
     }
 
+    @Test
+    public void responsesAreVerified() throws Exception {
+        final AlexaSpeechletServlet servlet = new SampleServlet();
+        // same verifiers as the SpeechletServlet and the AlexaRequestStreamHandler
+        final List<SpeechletResponseVerifier> verifiers = servlet.getSpeechletRequestHandler().getResponseVerifiers();
+        Assert.assertEquals(2, verifiers.size());
+        Assert.assertTrue(verifiers.stream().anyMatch(v -> v instanceof OutputSpeechSpeechletResponseVerifier));
+        Assert.assertTrue(verifiers.stream().anyMatch(v -> v instanceof CardSpeechletResponseVerifier));
+    }
+
+    @Test
+    public void doPostWithTooLargeResponse() throws Exception {
+        final AlexaSpeechletServlet servlet = new SampleServlet();
+        servlet.setSpeechlet(ModelFactory.givenSpeechletLaunchingWithSpeechOfLength(AlexaSpeechletRequestHandler.MAX_RESPONSE_SIZE));
+
+        final HttpServletRequest request = givenServletRequest(ModelFactory.givenLaunchSpeechletRequestEnvelope("applicationId"));
+        final ByteArrayOutputStream responseStream = new ByteArrayOutputStream();
+        final HttpServletResponse response = givenServletResponse(responseStream);
+
+        servlet.doPost(request, response);
+        // oversized speech is rejected instead of being sent to the Alexa service
+        Mockito.verify(response).sendError(Mockito.eq(HttpServletResponse.SC_BAD_REQUEST), Mockito.anyString());
+        Assert.assertEquals(0, responseStream.size());
+    }
+
+    @Test
+    public void doPostWithTooLargeBody() throws Exception {
+        final AlexaSpeechletServlet servlet = new SampleServlet();
+        final HttpServletRequest request = Mockito.mock(HttpServletRequest.class);
+        when(request.getContentLength()).thenReturn(Integer.MAX_VALUE);
+        final HttpServletResponse response = givenServletResponse(new ByteArrayOutputStream());
+
+        servlet.doPost(request, response);
+        Mockito.verify(response).sendError(HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE);
+        Mockito.verify(request, Mockito.never()).getInputStream();
+    }
+
     private SpeechletResponseEnvelope doPost(final AlexaSpeechletServlet servlet, final SpeechletRequestEnvelope envelope) throws Exception {
+        final HttpServletRequest request = givenServletRequest(envelope);
+        final ByteArrayOutputStream responseStream = new ByteArrayOutputStream();
+        final HttpServletResponse response = givenServletResponse(responseStream);
+        servlet.doPost(request, response);
+
+        return convertToResponseEnvelope(responseStream);
+    }
+
+    private HttpServletRequest givenServletRequest(final SpeechletRequestEnvelope envelope) throws Exception {
         final HttpServletRequest request = Mockito.mock(HttpServletRequest.class);
 
         final InputStream stream = convertToStream(envelope);
@@ -110,12 +175,7 @@ public class AlexaSpeechletServletTest {
         };
         when(request.getInputStream()).thenReturn(servletInputStream);
         when(request.getReader()).thenReturn(new BufferedReader(new InputStreamReader(stream)));
-
-        final ByteArrayOutputStream responseStream = new ByteArrayOutputStream();
-        final HttpServletResponse response = givenServletResponse(responseStream);
-        servlet.doPost(request, response);
-
-        return convertToResponseEnvelope(responseStream);
+        return request;
     }
 
     private SpeechletResponseEnvelope convertToResponseEnvelope(final ByteArrayOutputStream stream) throws IOException {
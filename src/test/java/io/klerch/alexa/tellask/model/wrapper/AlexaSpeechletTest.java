@@ -10,16 +10,21 @@ package io.klerch.alexa.tellask.model.wrapper;
 
 import com.amazon.speech.json.SpeechletRequestEnvelope;
 import com.amazon.speech.slu.Slot;
+import com.amazon.speech.speechlet.LaunchRequest;
 import com.amazon.speech.speechlet.Session;
 import com.amazon.speech.speechlet.SpeechletResponse;
 import com.amazon.speech.ui.SsmlOutputSpeech;
 import io.klerch.alexa.tellask.ModelFactory;
+import io.klerch.alexa.tellask.schema.VariantSelector;
 import io.klerch.alexa.tellask.util.resource.ResourceUtteranceReader;
 import org.junit.*;
 import org.junit.rules.ExpectedException;
 
+import java.util.Date;
 import java.util.HashMap;
+import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class AlexaSpeechletTest {
     @Rule
@@ -64,6 +69,44 @@ public class AlexaSpeechletTest {
         Assert.assertEquals(repromptSpeech.getSsml(), "<speak>Hello again</speak>");
     }
 
+    @Test
+    public void onLaunchWithLocaleOfRequest() throws Exception {
+        final SpeechletRequestEnvelope<LaunchRequest> envelope = SpeechletRequestEnvelope.<LaunchRequest>builder()
+                .withRequest(LaunchRequest.builder()
+                        .withRequestId("requestId")
+                        .withTimestamp(new Date())
+                        .withLocale(Locale.GERMANY)
+                        .build())
+                .withSession(session)
+                .build();
+
+        // one speechlet serves requests of all locales
+        final AlexaSpeechletResponse germanResponse = (AlexaSpeechletResponse)speechlet.onLaunch(envelope);
+        Assert.assertEquals("<speak>Hallo</speak>", ((SsmlOutputSpeech)germanResponse.getOutputSpeech()).getSsml());
+
+        final AlexaSpeechletResponse response = (AlexaSpeechletResponse)speechlet.onLaunch(ModelFactory.givenLaunchSpeechletRequestEnvelope());
+        Assert.assertEquals("<speak>Hello there</speak>", ((SsmlOutputSpeech)response.getOutputSpeech()).getSsml());
+    }
+
+    @Test
+    public void onLaunchWithVariantSelector() throws Exception {
+        final AtomicInteger selections = new AtomicInteger();
+        final VariantSelector selector = bound -> {
+            selections.incrementAndGet();
+            return 0;
+        };
+        final AlexaSpeechlet speechletWithSelector = new AlexaSpeechlet("en-US", new ResourceUtteranceReader()) {
+            @Override
+            protected VariantSelector getVariantSelector() {
+                return selector;
+            }
+        };
+        final AlexaSpeechletResponse response = (AlexaSpeechletResponse)speechletWithSelector.onLaunch(ModelFactory.givenLaunchSpeechletRequestEnvelope());
+        Assert.assertEquals("<speak>Hello there</speak>", ((SsmlOutputSpeech)response.getOutputSpeech()).getSsml());
+        // one pick for the utterance and one for the reprompt
+        Assert.assertEquals(2, selections.get());
+    }
+
     // SpeechletV2 doesn't throw Exceptions
     @Ignore
     @Test
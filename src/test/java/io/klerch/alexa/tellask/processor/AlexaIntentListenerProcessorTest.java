@@ -33,4 +33,14 @@ public class AlexaIntentListenerProcessorTest {
                 .processedWith(new AlexaIntentListenerProcessor())
                 .compilesWithoutError();
     }
-}
\ No newline at end of file
+
+    @Test
+    public void processMutableSingleton() throws Exception {
+        final JavaFileObject fileObject = JavaFileObjects.forResource("handler/MutableSingletonIntentHandler.java");
+        assertAbout(javaSource())
+                .that(fileObject)
+                .processedWith(new AlexaIntentListenerProcessor())
+                .compilesWithoutError()
+                .withWarningContaining("non-final field counter");
+    }
+}
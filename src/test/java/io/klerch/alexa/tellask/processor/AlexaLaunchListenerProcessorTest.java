@@ -33,4 +33,48 @@ public class AlexaLaunchListenerProcessorTest {
                 .processedWith(new AlexaLaunchListenerProcessor())
                 .compilesWithoutError();
     }
-}
\ No newline at end of file
+
+    @Test
+    public void processValidSingleton() throws Exception {
+        final JavaFileObject fileObject = JavaFileObjects.forResource("handler/ValidSingletonLaunchHandler.java");
+        // the handler is not created in a static initializer so a failing constructor is tried again on the next request
+        final JavaFileObject expectedFactory = JavaFileObjects.forSourceLines("io.klerch.alexa.tellask.util.factory.AlexaLaunchHandlerFactoryImpl",
+                "package io.klerch.alexa.tellask.util.factory;",
+                "",
+                "import handler.ValidSingletonLaunchHandler;",
+                "import io.klerch.alexa.tellask.schema.AlexaLaunchHandler;",
+                "import io.klerch.alexa.tellask.schema.AlexaLaunchHandlerProvider;",
+                "import java.lang.Override;",
+                "",
+                "public final class AlexaLaunchHandlerFactoryImpl implements AlexaLaunchHandlerProvider {",
+                "  @Override",
+                "  public AlexaLaunchHandler createHandler() {",
+                "    return HandlerHolder.get();",
+                "  }",
+                "",
+                "  private static final class HandlerHolder {",
+                "    private static volatile ValidSingletonLaunchHandler instance;",
+                "",
+                "    static ValidSingletonLaunchHandler get() {",
+                "      ValidSingletonLaunchHandler handler = instance;",
+                "      if (handler == null) {",
+                "        synchronized (HandlerHolder.class) {",
+                "          handler = instance;",
+                "          if (handler == null) {",
+                "            handler = new ValidSingletonLaunchHandler();",
+                "            instance = handler;",
+                "          }",
+                "        }",
+                "      }",
+                "      return handler;",
+                "    }",
+                "  }",
+                "}");
+        assertAbout(javaSource())
+                .that(fileObject)
+                .processedWith(new AlexaLaunchListenerProcessor())
+                .compilesWithoutError()
+                .and()
+                .generatesSources(expectedFactory);
+    }
+}
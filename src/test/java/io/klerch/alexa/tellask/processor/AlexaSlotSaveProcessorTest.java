@@ -0,0 +1,105 @@
+/**
+ * Created by Kay Lerch (https://twitter.com/KayLerch)
+ *
+ * Contribute to https://github.com/KayLerch/alexa-skills-kit-tellask-java
+ *
+ * Attached license applies.
+ * This source is licensed under GNU GENERAL PUBLIC LICENSE Version 3 as of 29 June 2007
+ */
+package io.klerch.alexa.tellask.processor;
+
+import com.google.testing.compile.JavaFileObjects;
+import io.klerch.alexa.tellask.schema.annotation.AlexaSlotSave;
+import org.junit.Assert;
+import org.junit.Test;
+
+import javax.tools.JavaFileObject;
+
+import static com.google.common.truth.Truth.assertAbout;
+import static com.google.testing.compile.JavaSourceSubjectFactory.javaSource;
+
+public class AlexaSlotSaveProcessorTest {
+    @Test
+    public void getSupportedAnnotationTypes() throws Exception {
+        final AlexaSlotSaveProcessor processor = new AlexaSlotSaveProcessor();
+        Assert.assertTrue(processor.getSupportedAnnotationTypes().contains(AlexaSlotSave.class.getTypeName()));
+    }
+
+    @Test
+    public void processValid() throws Exception {
+        final JavaFileObject fileObject = JavaFileObjects.forResource("model/ValidSlotSaveModel.java");
+        assertAbout(javaSource())
+                .that(fileObject)
+                .processedWith(new AlexaSlotSaveProcessor())
+                .compilesWithoutError();
+    }
+
+    @Test
+    public void processValidGeneratesAccessor() throws Exception {
+        final JavaFileObject fileObject = JavaFileObjects.forResource("model/ValidSlotSaveModel.java");
+        // reads the package-private and public fields directly and the private field by its getter
+        final JavaFileObject expectedAccessor = JavaFileObjects.forSourceLines("model.ValidSlotSaveModelSlotAccessor",
+                "package model;",
+                "",
+                "import io.klerch.alexa.state.model.AlexaStateModel;",
+                "import io.klerch.alexa.tellask.model.AlexaOutputSlot;",
+                "import io.klerch.alexa.tellask.schema.AlexaSlotAccessor;",
+                "import io.klerch.alexa.tellask.schema.type.AlexaOutputFormat;",
+                "import java.lang.Override;",
+                "import java.lang.String;",
+                "import java.util.Arrays;",
+                "import java.util.Collections;",
+                "import java.util.LinkedHashSet;",
+                "import java.util.Optional;",
+                "import java.util.Set;",
+                "",
+                "public final class ValidSlotSaveModelSlotAccessor implements AlexaSlotAccessor {",
+                "  private static final Set<String> SLOT_NAMES = Collections.unmodifiableSet(new LinkedHashSet<>(Arrays.asList(\"credits\", \"name\", \"title\")));",
+                "",
+                "  @Override",
+                "  public Set<String> getSlotNames() {",
+                "    return SLOT_NAMES;",
+                "  }",
+                "",
+                "  @Override",
+                "  public Optional<AlexaOutputSlot> getOutputSlot(final AlexaStateModel model, final String slotName) {",
+                "    if (slotName == null) {",
+                "      return Optional.empty();",
+                "    }",
+                "    final ValidSlotSaveModel m = (ValidSlotSaveModel) model;",
+                "    switch (slotName) {",
+                "      case \"credits\": return Optional.of(new AlexaOutputSlot(\"credits\", m.credits).formatAs(AlexaOutputFormat.NUMBER));",
+                "      case \"name\": return Optional.of(new AlexaOutputSlot(\"name\", m.getName()).formatAs(AlexaOutputFormat.TEXT));",
+                "      case \"title\": return Optional.of(new AlexaOutputSlot(\"title\", m.title).formatAs(AlexaOutputFormat.TEXT));",
+                "      default: return Optional.empty();",
+                "    }",
+                "  }",
+                "}");
+        assertAbout(javaSource())
+                .that(fileObject)
+                .processedWith(new AlexaSlotSaveProcessor())
+                .compilesWithoutError()
+                .and()
+                .generatesSources(expectedAccessor);
+    }
+
+    @Test
+    public void processPrivateModel() throws Exception {
+        final JavaFileObject fileObject = JavaFileObjects.forResource("model/PrivateSlotSaveModel.java");
+        assertAbout(javaSource())
+                .that(fileObject)
+                .processedWith(new AlexaSlotSaveProcessor())
+                .compilesWithoutError()
+                .withNoteContaining("Class PrivateModel is private");
+    }
+
+    @Test
+    public void processGetterWithCheckedException() throws Exception {
+        final JavaFileObject fileObject = JavaFileObjects.forResource("model/CheckedGetterSlotSaveModel.java");
+        assertAbout(javaSource())
+                .that(fileObject)
+                .processedWith(new AlexaSlotSaveProcessor())
+                .compilesWithoutError()
+                .withNoteContaining("Field name of CheckedGetterSlotSaveModel is private and has no public getter without checked exceptions");
+    }
+}
@@ -0,0 +1,47 @@
+/**
+ * Created by Kay Lerch (https://twitter.com/KayLerch)
+ *
+ * Contribute to https://github.com/KayLerch/alexa-skills-kit-tellask-java
+ *
+ * Attached license applies.
+ * This source is licensed under GNU GENERAL PUBLIC LICENSE Version 3 as of 29 June 2007
+ */
+package io.klerch.alexa.tellask.schema;
+
+import io.klerch.alexa.tellask.schema.type.AlexaOutputFormat;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.text.SimpleDateFormat;
+import java.time.LocalDateTime;
+import java.util.Date;
+
+public class AlexaOutputFormatTest {
+    @Test
+    public void getSsmlEqualsTemplate() throws Exception {
+        final Object[] values = { "text", 42, 42L, 1.5d, 0.25f, true, new BigDecimal("1.50"), null };
+        for (final AlexaOutputFormat format : AlexaOutputFormat.values()) {
+            for (final Object value : values) {
+                Assert.assertEquals(String.format(format.getSsmlTemplate(), value), format.getSsml(value));
+            }
+        }
+    }
+
+    @Test
+    public void getSsmlWithDates() throws Exception {
+        Assert.assertEquals("<say-as interpret-as=\"date\">20170203</say-as>",
+                AlexaOutputFormat.DATE.getSsml(LocalDateTime.of(2017, 2, 3, 4, 5)));
+        final Date date = new SimpleDateFormat("yyyyMMdd").parse("20170203");
+        Assert.assertEquals("<say-as interpret-as=\"date\">20170203</say-as>", AlexaOutputFormat.DATE.getSsml(date));
+    }
+
+    @Test
+    public void appendSsml() throws Exception {
+        final StringBuilder buffer = new StringBuilder();
+        AlexaOutputFormat.NUMBER.appendSsml(buffer, 42L);
+        AlexaOutputFormat.TEXT.appendSsml(buffer, " and ");
+        AlexaOutputFormat.NUMBER.appendSsml(buffer, 2.5d);
+        Assert.assertEquals("<say-as interpret-as=\"number\">42</say-as> and <say-as interpret-as=\"number\">2.5</say-as>", buffer.toString());
+    }
+}
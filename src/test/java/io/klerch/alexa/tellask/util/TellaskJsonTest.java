@@ -0,0 +1,91 @@
+/**
+ * Created by Kay Lerch (https://twitter.com/KayLerch)
+ *
+ * Contribute to https://github.com/KayLerch/alexa-skills-kit-tellask-java
+ *
+ * Attached license applies.
+ * This source is licensed under GNU GENERAL PUBLIC LICENSE Version 3 as of 29 June 2007
+ */
+package io.klerch.alexa.tellask.util;
+
+import com.amazon.speech.json.SpeechletRequestEnvelope;
+import com.amazon.speech.json.SpeechletResponseEnvelope;
+import com.amazon.speech.speechlet.IntentRequest;
+import com.amazon.speech.speechlet.SpeechletResponse;
+import com.amazon.speech.ui.SsmlOutputSpeech;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.klerch.alexa.tellask.ModelFactory;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.Collections;
+
+public class TellaskJsonTest {
+    @Test
+    public void readRequestEnvelope() throws Exception {
+        final byte[] request = new ObjectMapper().writeValueAsBytes(ModelFactory.givenIntentSpeechletRequestEnvelope("IntentWithNoSlots"));
+
+        final SpeechletRequestEnvelope<?> envelope = TellaskJson.readRequestEnvelope(request);
+        Assert.assertTrue(envelope.getRequest() instanceof IntentRequest);
+        Assert.assertEquals("IntentWithNoSlots", ((IntentRequest) envelope.getRequest()).getIntent().getName());
+
+        final SpeechletRequestEnvelope<?> envelopeFromStream = TellaskJson.readRequestEnvelope(new ByteArrayInputStream(request));
+        Assert.assertEquals(envelope.getRequest().getRequestId(), envelopeFromStream.getRequest().getRequestId());
+    }
+
+    @Test
+    public void writeResponseEnvelopeLikeTheSdk() throws Exception {
+        final SpeechletResponseEnvelope envelope = givenResponseEnvelope();
+        Assert.assertArrayEquals(envelope.toJsonBytes(), TellaskJson.writeResponseEnvelope(envelope));
+
+        final ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        TellaskJson.writeResponseEnvelope(envelope, stream);
+        Assert.assertArrayEquals(envelope.toJsonBytes(), stream.toByteArray());
+    }
+
+    @Test
+    public void roundTripWithAndWithoutAfterburner() throws Exception {
+        final String previous = System.getProperty(TellaskJson.AFTERBURNER_PROPERTY);
+        try {
+            System.setProperty(TellaskJson.AFTERBURNER_PROPERTY, "true");
+            final byte[] withAfterburner = roundTrip(TellaskJson.newRequestEnvelopeReader(), TellaskJson.newResponseEnvelopeWriter());
+
+            System.clearProperty(TellaskJson.AFTERBURNER_PROPERTY);
+            final byte[] withoutAfterburner = roundTrip(TellaskJson.newRequestEnvelopeReader(), TellaskJson.newResponseEnvelopeWriter());
+
+            Assert.assertArrayEquals(givenResponseEnvelope().toJsonBytes(), withAfterburner);
+            Assert.assertArrayEquals(withAfterburner, withoutAfterburner);
+        } finally {
+            if (previous != null) {
+                System.setProperty(TellaskJson.AFTERBURNER_PROPERTY, previous);
+            } else {
+                System.clearProperty(TellaskJson.AFTERBURNER_PROPERTY);
+            }
+        }
+    }
+
+    private byte[] roundTrip(final ObjectReader reader, final ObjectWriter writer) throws Exception {
+        final byte[] request = new ObjectMapper().writeValueAsBytes(ModelFactory.givenIntentSpeechletRequestEnvelope("IntentWithNoSlots"));
+        final SpeechletRequestEnvelope<?> envelope = reader.readValue(request);
+        Assert.assertTrue(envelope.getRequest() instanceof IntentRequest);
+        Assert.assertEquals("IntentWithNoSlots", ((IntentRequest) envelope.getRequest()).getIntent().getName());
+        return writer.writeValueAsBytes(givenResponseEnvelope());
+    }
+
+    private SpeechletResponseEnvelope givenResponseEnvelope() {
+        final SsmlOutputSpeech outputSpeech = new SsmlOutputSpeech();
+        outputSpeech.setSsml("<speak>Hello</speak>");
+        final SpeechletResponse response = new SpeechletResponse();
+        response.setOutputSpeech(outputSpeech);
+
+        final SpeechletResponseEnvelope envelope = new SpeechletResponseEnvelope();
+        envelope.setVersion("1.0");
+        envelope.setResponse(response);
+        envelope.setSessionAttributes(Collections.singletonMap("key", "value"));
+        return envelope;
+    }
+}
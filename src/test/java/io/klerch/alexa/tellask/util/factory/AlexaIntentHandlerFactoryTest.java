@@ -8,14 +8,24 @@
  */
 package io.klerch.alexa.tellask.util.factory;
 
+import com.amazon.speech.slu.Slot;
 import io.klerch.alexa.tellask.ModelFactory;
 import io.klerch.alexa.tellask.dummies.handler.SampleHandler1000;
+import io.klerch.alexa.tellask.dummies.handler.SampleHandler500;
+import io.klerch.alexa.tellask.dummies.handler.SampleHandlerAnyVerified;
+import io.klerch.alexa.tellask.dummies.handler.SampleHandlerNumericSlot;
+import io.klerch.alexa.tellask.dummies.handler.SampleHandlerRequiredSlots;
+import io.klerch.alexa.tellask.dummies.handler.SampleHandlerSingleton;
 import io.klerch.alexa.tellask.model.AlexaInput;
 import io.klerch.alexa.tellask.schema.AlexaIntentHandler;
+import io.klerch.alexa.tellask.schema.AlexaIntentHandlerProvider;
 import io.klerch.alexa.tellask.util.factory.AlexaIntentHandlerFactory;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
 
 public class AlexaIntentHandlerFactoryTest {
@@ -27,10 +37,102 @@ public class AlexaIntentHandlerFactoryTest {
         Assert.assertTrue(handler.get() instanceof SampleHandler1000);
     }
 
+    @Test
+    public void createHandlerForAnyIntentOfListener() throws Exception {
+        final Optional<AlexaIntentHandler> handler = AlexaIntentHandlerFactory.createHandler(ModelFactory.givenAlexaInput("en-US", "test"));
+        Assert.assertTrue(handler.isPresent());
+        Assert.assertTrue(handler.get() instanceof SampleHandler500);
+
+        final Optional<AlexaIntentHandler> handler2 = AlexaIntentHandlerFactory.createHandler(ModelFactory.givenAlexaInput("en-US", "AMAZON.CancelIntent"));
+        Assert.assertTrue(handler2.isPresent());
+        Assert.assertTrue(handler2.get() instanceof SampleHandler500);
+    }
+
+    @Test
+    public void createHandlerThroughIntentMethod() throws Exception {
+        final Class<?> factoryImpl = Class.forName(AlexaIntentHandlerFactory.FACTORY_PACKAGE + "." + AlexaIntentHandlerFactory.FACTORY_CLASS_NAME);
+        final Method intentMethod = factoryImpl.getDeclaredMethod("createHandlerForIntentWithOneUtteranceAndOneReprompt", AlexaInput.class);
+        intentMethod.setAccessible(true);
+        final Object handler = intentMethod.invoke(factoryImpl.newInstance(), ModelFactory.givenAlexaInput("en-US", "IntentWithOneUtteranceAndOneReprompt"));
+        Assert.assertTrue(handler instanceof SampleHandler1000);
+    }
+
+    @Test
+    public void createHandlerFallingThroughToAnyIntent() throws Exception {
+        final Map<String, Slot> slots = new HashMap<>();
+        slots.put("any", Slot.builder().withName("any").withValue("1").build());
+        // intent without handlers of its own
+        final Optional<AlexaIntentHandler> handler = AlexaIntentHandlerFactory.createHandler(ModelFactory.givenAlexaInput("en-US", "IntentWithNoHandlerForIt", slots));
+        Assert.assertTrue(handler.isPresent());
+        Assert.assertTrue(handler.get() instanceof SampleHandlerAnyVerified);
+
+        // intent whose handlers do not meet their slot preconditions
+        final Optional<AlexaIntentHandler> handler2 = AlexaIntentHandlerFactory.createHandler(ModelFactory.givenAlexaInput("en-US", "IntentWithSlotPreconditions", slots));
+        Assert.assertTrue(handler2.isPresent());
+        Assert.assertTrue(handler2.get() instanceof SampleHandlerAnyVerified);
+    }
+
+    @Test
+    public void createHandlerInSingletonScope() throws Exception {
+        final AlexaInput input = ModelFactory.givenAlexaInput("en-US", "IntentWithSingletonHandler");
+        final Optional<AlexaIntentHandler> handler = AlexaIntentHandlerFactory.createHandler(input);
+        Assert.assertTrue(handler.isPresent());
+        Assert.assertTrue(handler.get() instanceof SampleHandlerSingleton);
+        Assert.assertSame(handler.get(), AlexaIntentHandlerFactory.createHandler(input).orElse(null));
+    }
+
+    @Test
+    public void createHandlerInSingletonScopeFailing() throws Exception {
+        final AlexaInput input = ModelFactory.givenAlexaInput("en-US", "IntentWithFailingSingletonHandler");
+        // the exception of the constructor is thrown on every request as creation is tried again
+        for (int i = 0; i < 2; i++) {
+            try {
+                AlexaIntentHandlerFactory.createHandler(input);
+                Assert.fail("Singleton handler with failing constructor must not be returned.");
+            } catch (final IllegalStateException e) {
+                Assert.assertEquals("Handler cannot be created.", e.getMessage());
+            }
+        }
+        // other handlers are not affected
+        Assert.assertTrue(AlexaIntentHandlerFactory.createHandler(ModelFactory.givenAlexaInput("en-US", "IntentWithSingletonHandler")).isPresent());
+    }
+
+    @Test
+    public void createHandlerInPrototypeScope() throws Exception {
+        final AlexaInput input = ModelFactory.givenAlexaInput("en-US", "IntentWithOneUtteranceAndOneReprompt");
+        Assert.assertNotSame(AlexaIntentHandlerFactory.createHandler(input).orElse(null), AlexaIntentHandlerFactory.createHandler(input).orElse(null));
+    }
+
+    @Test
+    public void createHandlerWithSlotPreconditions() throws Exception {
+        final Map<String, Slot> slots = new HashMap<>();
+        slots.put("a", Slot.builder().withName("a").withValue("1").build());
+        final Optional<AlexaIntentHandler> handler = AlexaIntentHandlerFactory.createHandler(ModelFactory.givenAlexaInput("en-US", "IntentWithSlotPreconditions", slots));
+        Assert.assertTrue(handler.isPresent());
+        Assert.assertTrue(handler.get() instanceof SampleHandlerNumericSlot);
+
+        // slot b is no longer absent
+        slots.put("b", Slot.builder().withName("b").withValue("two").build());
+        final Optional<AlexaIntentHandler> handler2 = AlexaIntentHandlerFactory.createHandler(ModelFactory.givenAlexaInput("en-US", "IntentWithSlotPreconditions", slots));
+        Assert.assertTrue(handler2.isPresent());
+        Assert.assertTrue(handler2.get() instanceof SampleHandlerRequiredSlots);
+
+        // slot a is missing
+        slots.remove("a");
+        final Optional<AlexaIntentHandler> handler3 = AlexaIntentHandlerFactory.createHandler(ModelFactory.givenAlexaInput("en-US", "IntentWithSlotPreconditions", slots));
+        Assert.assertFalse(handler3.isPresent());
+    }
+
     @Test
     public void createHandlerNotExistant() throws Exception {
         final AlexaInput input = ModelFactory.givenAlexaInput("en-US", "IntentWithNoHandlerForIt");
         final Optional<AlexaIntentHandler> handler = AlexaIntentHandlerFactory.createHandler(input);
         Assert.assertFalse(handler.isPresent());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void generatedFactoryIsProvider() throws Exception {
+        final Class<?> factoryImpl = Class.forName(AlexaIntentHandlerFactory.FACTORY_PACKAGE + "." + AlexaIntentHandlerFactory.FACTORY_CLASS_NAME);
+        Assert.assertTrue(AlexaIntentHandlerProvider.class.isAssignableFrom(factoryImpl));
+    }
+}
@@ -10,6 +10,7 @@ package io.klerch.alexa.tellask.util.factory;
 
 import io.klerch.alexa.tellask.dummies.handler.LaunchHandler;
 import io.klerch.alexa.tellask.schema.AlexaLaunchHandler;
+import io.klerch.alexa.tellask.schema.AlexaLaunchHandlerProvider;
 import io.klerch.alexa.tellask.util.factory.AlexaLaunchHandlerFactory;
 import org.junit.Assert;
 import org.junit.Test;
@@ -23,4 +24,15 @@ public class AlexaLaunchHandlerFactoryTest {
         Assert.assertTrue(handler.isPresent());
         Assert.assertTrue(handler.get() instanceof LaunchHandler);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void createHandlerInPrototypeScope() throws Exception {
+        Assert.assertNotSame(AlexaLaunchHandlerFactory.createHandler().orElse(null), AlexaLaunchHandlerFactory.createHandler().orElse(null));
+    }
+
+    @Test
+    public void generatedFactoryIsProvider() throws Exception {
+        final Class<?> factoryImpl = Class.forName(AlexaLaunchHandlerFactory.FACTORY_PACKAGE + "." + AlexaLaunchHandlerFactory.FACTORY_CLASS_NAME);
+        Assert.assertTrue(AlexaLaunchHandlerProvider.class.isAssignableFrom(factoryImpl));
+    }
+}
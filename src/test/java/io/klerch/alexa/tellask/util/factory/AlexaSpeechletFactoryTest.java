@@ -0,0 +1,109 @@
+/**
+ * Created by Kay Lerch (https://twitter.com/KayLerch)
+ *
+ * Contribute to https://github.com/KayLerch/alexa-skills-kit-tellask-java
+ *
+ * Attached license applies.
+ * This source is licensed under GNU GENERAL PUBLIC LICENSE Version 3 as of 29 June 2007
+ */
+package io.klerch.alexa.tellask.util.factory;
+
+import io.klerch.alexa.tellask.dummies.SampleAlexaSpeechlet;
+import io.klerch.alexa.tellask.schema.UtteranceReader;
+import io.klerch.alexa.tellask.util.resource.ResourceUtteranceReader;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+
+public class AlexaSpeechletFactoryTest {
+    @Rule
+    public ExpectedException exception = ExpectedException.none();
+
+    @Test
+    public void extractLocale() throws Exception {
+        // locales somewhere in the session attributes must not be taken
+        final String request = "{\"version\":\"1.0\",\"session\":{\"attributes\":{\"model\":{\"request\":{\"locale\":\"xx-XX\"}},\"list\":[1,[2,{\"locale\":\"xx-XX\"}]]}}," +
+                "\"request\":{\"type\":\"IntentRequest\",\"intent\":{\"locale\":\"xx-XX\"},\"locale\":\"de-DE\"}}";
+        Assert.assertEquals(Optional.of("de-DE"), AlexaSpeechletFactory.extractLocale(request.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    public void extractLocaleStopsReadingWhenFound() throws Exception {
+        final String request = "{\"request\":{\"locale\":\"en-GB\"}, this is not read anymore";
+        Assert.assertEquals(Optional.of("en-GB"), AlexaSpeechletFactory.extractLocale(request.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    public void extractLocaleNotPresent() throws Exception {
+        Assert.assertFalse(AlexaSpeechletFactory.extractLocale("{\"request\":{\"type\":\"LaunchRequest\"}}".getBytes(StandardCharsets.UTF_8)).isPresent());
+        Assert.assertFalse(AlexaSpeechletFactory.extractLocale("{\"request\":{\"locale\":null}}".getBytes(StandardCharsets.UTF_8)).isPresent());
+        Assert.assertFalse(AlexaSpeechletFactory.extractLocale("{\"request\":\"en-US\"}".getBytes(StandardCharsets.UTF_8)).isPresent());
+        Assert.assertFalse(AlexaSpeechletFactory.extractLocale("{\"request\":null,\"locale\":\"en-US\"}".getBytes(StandardCharsets.UTF_8)).isPresent());
+        Assert.assertFalse(AlexaSpeechletFactory.extractLocale("{\"version\":\"1.0\",\"locale\":\"en-US\"}".getBytes(StandardCharsets.UTF_8)).isPresent());
+        Assert.assertFalse(AlexaSpeechletFactory.extractLocale("{}".getBytes(StandardCharsets.UTF_8)).isPresent());
+    }
+
+    @Test
+    public void extractLocaleRequestNotFirst() throws Exception {
+        final String request = "{\"version\":\"1.0\",\"context\":{\"System\":{\"application\":{\"applicationId\":\"id\"}}},\"session\":null," +
+                "\"request\":{\"type\":\"LaunchRequest\",\"requestId\":\"id\",\"timestamp\":\"2016-10-18T10:00:00Z\",\"locale\":\"fr-FR\"}}";
+        Assert.assertEquals(Optional.of("fr-FR"), AlexaSpeechletFactory.extractLocale(request.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    public void extractLocaleNotString() throws Exception {
+        Assert.assertFalse(AlexaSpeechletFactory.extractLocale("{\"request\":{\"locale\":42}}".getBytes(StandardCharsets.UTF_8)).isPresent());
+        Assert.assertFalse(AlexaSpeechletFactory.extractLocale("{\"request\":{\"locale\":true}}".getBytes(StandardCharsets.UTF_8)).isPresent());
+        Assert.assertFalse(AlexaSpeechletFactory.extractLocale("{\"request\":{\"locale\":[\"en-US\"]}}".getBytes(StandardCharsets.UTF_8)).isPresent());
+        Assert.assertFalse(AlexaSpeechletFactory.extractLocale("{\"request\":{\"locale\":{\"value\":\"en-US\"}}}".getBytes(StandardCharsets.UTF_8)).isPresent());
+    }
+
+    @Test
+    public void extractLocaleFromNonObjectRoot() throws Exception {
+        Assert.assertFalse(AlexaSpeechletFactory.extractLocale("[{\"request\":{\"locale\":\"en-US\"}}]".getBytes(StandardCharsets.UTF_8)).isPresent());
+        Assert.assertFalse(AlexaSpeechletFactory.extractLocale("\"en-US\"".getBytes(StandardCharsets.UTF_8)).isPresent());
+        Assert.assertFalse(AlexaSpeechletFactory.extractLocale("42".getBytes(StandardCharsets.UTF_8)).isPresent());
+        Assert.assertFalse(AlexaSpeechletFactory.extractLocale("null".getBytes(StandardCharsets.UTF_8)).isPresent());
+        Assert.assertFalse(AlexaSpeechletFactory.extractLocale(new byte[0]).isPresent());
+    }
+
+    @Test
+    public void extractLocaleFromInvalidJson() throws Exception {
+        exception.expect(IOException.class);
+        AlexaSpeechletFactory.extractLocale("{\"session\":{\"attributes\":".getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void createSpeechletFromRequest() throws Exception {
+        final String request = "{\"session\":{\"attributes\":{}},\"request\":{\"locale\":\"de-DE\"}}";
+        final SampleAlexaSpeechlet speechlet = AlexaSpeechletFactory.createSpeechletFromRequest(request.getBytes(StandardCharsets.UTF_8), SampleAlexaSpeechlet.class, new ResourceUtteranceReader());
+        Assert.assertNotNull(speechlet);
+    }
+
+    @Test
+    public void getSpeechletIsShared() throws Exception {
+        final SampleAlexaSpeechlet speechlet = AlexaSpeechletFactory.getSpeechlet(SampleAlexaSpeechlet.class, new ResourceUtteranceReader());
+        Assert.assertNotNull(speechlet);
+        Assert.assertSame(speechlet, AlexaSpeechletFactory.getSpeechlet(SampleAlexaSpeechlet.class, new ResourceUtteranceReader()));
+        Assert.assertNotSame(speechlet, AlexaSpeechletFactory.getSpeechlet(SampleAlexaSpeechlet.class, new ResourceUtteranceReader("/other")));
+    }
+
+    @Test
+    public void getSpeechletPerReaderClass() throws Exception {
+        // a reader of another class is not shared even if it claims the same source
+        final UtteranceReader otherReader = new ResourceUtteranceReader() {
+            @Override
+            public String getSourceId() {
+                return ResourceUtteranceReader.class.getName();
+            }
+        };
+        final SampleAlexaSpeechlet speechlet = AlexaSpeechletFactory.getSpeechlet(SampleAlexaSpeechlet.class, new ResourceUtteranceReader());
+        Assert.assertNotSame(speechlet, AlexaSpeechletFactory.getSpeechlet(SampleAlexaSpeechlet.class, otherReader));
+        Assert.assertSame(AlexaSpeechletFactory.getSpeechlet(SampleAlexaSpeechlet.class, otherReader), AlexaSpeechletFactory.getSpeechlet(SampleAlexaSpeechlet.class, otherReader));
+    }
+}
@@ -0,0 +1,44 @@
+/**
+ * Created by Kay Lerch (https://twitter.com/KayLerch)
+ *
+ * Contribute to https://github.com/KayLerch/alexa-skills-kit-tellask-java
+ *
+ * Attached license applies.
+ * This source is licensed under GNU GENERAL PUBLIC LICENSE Version 3 as of 29 June 2007
+ */
+package io.klerch.alexa.tellask.util.resource;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SeededVariantSelectorTest {
+    @Test
+    public void selectIsReproducible() throws Exception {
+        final SeededVariantSelector selector1 = new SeededVariantSelector(42);
+        final SeededVariantSelector selector2 = new SeededVariantSelector(42);
+        for (int i = 0; i < 100; i++) {
+            final int index = selector1.select(10);
+            Assert.assertEquals(index, selector2.select(10));
+            Assert.assertTrue(index >= 0 && index < 10);
+        }
+    }
+
+    @Test
+    public void yamlReaderIsReproducible() throws Exception {
+        final YamlReader reader1 = new YamlReader(new ResourceUtteranceReader(), "en-US", new SeededVariantSelector(42));
+        final YamlReader reader2 = new YamlReader(new ResourceUtteranceReader(), "en-US", new SeededVariantSelector(42));
+        for (int i = 0; i < 20; i++) {
+            Assert.assertEquals(reader1.getRandomUtterance("IntentWithReprompts"), reader2.getRandomUtterance("IntentWithReprompts"));
+        }
+    }
+
+    @Test
+    public void randomSelectorIsInRange() throws Exception {
+        final RandomVariantSelector selector = new RandomVariantSelector();
+        for (int i = 0; i < 100; i++) {
+            final int index = selector.select(3);
+            Assert.assertTrue(index >= 0 && index < 3);
+        }
+        Assert.assertEquals(0, selector.select(1));
+    }
+}
@@ -0,0 +1,89 @@
+/**
+ * Created by Kay Lerch (https://twitter.com/KayLerch)
+ *
+ * Contribute to https://github.com/KayLerch/alexa-skills-kit-tellask-java
+ *
+ * Attached license applies.
+ * This source is licensed under GNU GENERAL PUBLIC LICENSE Version 3 as of 29 June 2007
+ */
+package io.klerch.alexa.tellask.util.resource;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+public class UtteranceCatalogTest {
+    @Rule
+    public ExpectedException exception = ExpectedException.none();
+
+    @Test
+    public void forReaderIsCached() throws Exception {
+        final UtteranceCatalog catalog = UtteranceCatalog.forReader(new ResourceUtteranceReader(), "en-US");
+        Assert.assertNotNull(catalog);
+        Assert.assertEquals("en-US", catalog.getLocale());
+        Assert.assertTrue(catalog.getIntentNames().contains("IntentWithReprompts"));
+        // another reader pointing to the same resource shares the catalog
+        Assert.assertSame(catalog, UtteranceCatalog.forReader(new ResourceUtteranceReader(), "en-US"));
+    }
+
+    @Test
+    public void forReaderDistinguishesLocaleAndPath() throws Exception {
+        final UtteranceCatalog catalog = UtteranceCatalog.forReader(new ResourceUtteranceReader(), "en-US");
+        Assert.assertNotSame(catalog, UtteranceCatalog.forReader(new ResourceUtteranceReader(), "de-DE"));
+        Assert.assertNotSame(catalog, UtteranceCatalog.forReader(new ResourceUtteranceReader("/my/leading/path"), "en-US"));
+        Assert.assertNotSame(catalog, UtteranceCatalog.forReader(new ResourceUtteranceReader().fromResourceLocation("/my/trailing/path/utterances.yml"), "en-US"));
+    }
+
+    @Test
+    public void invalidate() throws Exception {
+        final UtteranceCatalog catalog = UtteranceCatalog.forReader(new ResourceUtteranceReader(), "en-US");
+        UtteranceCatalog.invalidate();
+        Assert.assertNotSame(catalog, UtteranceCatalog.forReader(new ResourceUtteranceReader(), "en-US"));
+    }
+
+    @Test
+    public void getUtterancesAndReprompts() throws Exception {
+        final UtteranceCatalog catalog = UtteranceCatalog.forReader(new ResourceUtteranceReader(), "en-US");
+        Assert.assertEquals(3, catalog.getUtterances("IntentWithReprompts").size());
+        Assert.assertEquals(2, catalog.getReprompts("IntentWithReprompts").size());
+        Assert.assertEquals(3, catalog.getUtterances("IntentWithInstantUtterance").size());
+        Assert.assertEquals(0, catalog.getReprompts("IntentWithInstantUtterance").size());
+        Assert.assertEquals(1, catalog.getUtterances("SomePlaceholder").size());
+        Assert.assertEquals(3, catalog.getUtterances("IntentWithEmptyReprompts").size());
+        Assert.assertTrue(catalog.getReprompts("IntentWithEmptyReprompts").isEmpty());
+        Assert.assertTrue(catalog.getUtterances("IntentWithoutAny").isEmpty());
+        Assert.assertTrue(catalog.getUtterances("AnIntentThatDoesNotExistInTheYaml").isEmpty());
+    }
+
+    @Test
+    public void utterancesAreImmutable() throws Exception {
+        final UtteranceCatalog catalog = UtteranceCatalog.forReader(new ResourceUtteranceReader(), "en-US");
+        exception.expect(UnsupportedOperationException.class);
+        catalog.getUtterances("IntentWithReprompts").clear();
+    }
+
+    @Test
+    public void forReaderWithoutLocale() throws Exception {
+        exception.expect(NullPointerException.class);
+        UtteranceCatalog.forReader(new ResourceUtteranceReader(), null);
+    }
+
+    @Test
+    public void utteranceTemplatesAreExpanded() throws Exception {
+        final UtteranceCatalog catalog = UtteranceCatalog.forReader(new ResourceUtteranceReader(), "en-US");
+        // first utterance refers to a placeholder and cannot be expanded
+        Assert.assertFalse(catalog.getUtteranceTemplates("IntentWithReprompts").get(0).isExpanded());
+        Assert.assertEquals(18, catalog.getUtteranceTemplates("IntentWithReprompts").get(1).getVariantCount());
+        Assert.assertEquals(2, catalog.getRepromptTemplates("IntentWithReprompts").size());
+        Assert.assertTrue(catalog.getRepromptTemplates("IntentWithReprompts").get(0).isExpanded());
+    }
+
+    @Test
+    public void forReaderWithInvalidWeight() throws Exception {
+        // invalid utterances are reported on loading with the file and the intent they are defined in
+        exception.expect(IllegalArgumentException.class);
+        exception.expectMessage("Invalid utterance in intent 'IntentWithInvalidWeight' of en-US/invalid/utterances.yml");
+        UtteranceCatalog.forReader(new ResourceUtteranceReader().fromResourceLocation("/invalid/utterances.yml"), "en-US");
+    }
+}
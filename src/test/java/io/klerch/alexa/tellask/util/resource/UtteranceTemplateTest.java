@@ -0,0 +1,188 @@
+/**
+ * Created by Kay Lerch (https://twitter.com/KayLerch)
+ *
+ * Contribute to https://github.com/KayLerch/alexa-skills-kit-tellask-java
+ *
+ * Attached license applies.
+ * This source is licensed under GNU GENERAL PUBLIC LICENSE Version 3 as of 29 June 2007
+ */
+package io.klerch.alexa.tellask.util.resource;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+public class UtteranceTemplateTest {
+    @Rule
+    public ExpectedException exception = ExpectedException.none();
+
+    /**
+     * Always picks the last phrase of a multi-phrase, resolves placeholders
+     * to their names in uppercase and slots to their names in brackets.
+     */
+    private final UtteranceTemplate.Context context = new UtteranceTemplate.Context() {
+        @Override
+        public int choose(final int bound) {
+            return bound - 1;
+        }
+
+        @Override
+        public void appendPlaceholder(final StringBuilder buffer, final String placeholderName) {
+            buffer.append(placeholderName.toUpperCase());
+        }
+
+        @Override
+        public void appendSlot(final StringBuilder buffer, final String slotName) {
+            buffer.append('<').append(slotName).append('>');
+        }
+    };
+
+    @Test
+    public void renderLiteral() throws Exception {
+        final UtteranceTemplate template = UtteranceTemplate.compile("Hello there");
+        Assert.assertEquals("Hello there", template.render(context));
+        Assert.assertEquals("Hello there", template.getSource());
+        Assert.assertEquals("Hello there".length(), template.getEstimatedLength());
+    }
+
+    @Test
+    public void renderMultiPhrases() throws Exception {
+        final UtteranceTemplate template = UtteranceTemplate.compile("[Hello|Hi|Welcome]. You are [awesome|super]");
+        Assert.assertEquals("Welcome. You are super", template.render(context));
+    }
+
+    @Test
+    public void renderPlaceholdersAndSlots() throws Exception {
+        final UtteranceTemplate template = UtteranceTemplate.compile("${greeting} {name}. Score is [{credits}|{score}]");
+        Assert.assertEquals("GREETING <name>. Score is <score>", template.render(context));
+    }
+
+    @Test
+    public void renderEmptyMultiPhrases() throws Exception {
+        Assert.assertEquals("This  is it", UtteranceTemplate.compile("This [] is it").render(context));
+        Assert.assertEquals("This  is it", UtteranceTemplate.compile("This [|] is it").render(context));
+    }
+
+    @Test
+    public void renderUnclosedBrackets() throws Exception {
+        final UtteranceTemplate template = UtteranceTemplate.compile("Hello [there {name");
+        Assert.assertEquals("Hello [there {name", template.render(context));
+    }
+
+    @Test
+    public void renderIntoBuffer() throws Exception {
+        final StringBuilder buffer = new StringBuilder("<speak>");
+        UtteranceTemplate.compile("Hello {name}").render(buffer, context);
+        Assert.assertEquals("<speak>Hello <name>", buffer.toString());
+    }
+
+    @Test
+    public void expandMultiPhrasesAndSlots() throws Exception {
+        final UtteranceTemplate template = UtteranceTemplate.compile("[Hello|Hi|Welcome] {name}. You are [awesome|super]", 64);
+        Assert.assertTrue(template.isExpanded());
+        Assert.assertEquals(6, template.getVariantCount());
+        Assert.assertEquals("Welcome <name>. You are super", template.render(context));
+    }
+
+    @Test
+    public void expandSlotsInMultiPhrases() throws Exception {
+        final UtteranceTemplate template = UtteranceTemplate.compile("Score is [{credits}|{score} points]", 64);
+        Assert.assertTrue(template.isExpanded());
+        Assert.assertEquals(2, template.getVariantCount());
+        Assert.assertEquals("Score is <score> points", template.render(context));
+    }
+
+    @Test
+    public void expandNotWithPlaceholders() throws Exception {
+        final UtteranceTemplate template = UtteranceTemplate.compile("${greeting} {name}", 64);
+        Assert.assertFalse(template.isExpanded());
+        Assert.assertEquals(0, template.getVariantCount());
+        Assert.assertEquals("GREETING <name>", template.render(context));
+    }
+
+    @Test
+    public void expandNotWithPlaceholdersInMultiPhrases() throws Exception {
+        final UtteranceTemplate template = UtteranceTemplate.compile("[Hi|${greeting}] {name}", 64);
+        Assert.assertFalse(template.isExpanded());
+        Assert.assertEquals("GREETING <name>", template.render(context));
+    }
+
+    @Test
+    public void expandNotWithOverflowingWeights() throws Exception {
+        // product of the weights exceeds the range of a long
+        final UtteranceTemplate template = UtteranceTemplate.compile("[a::999999999|b][c::999999999|d][e::999999999|f]", 64);
+        Assert.assertFalse(template.isExpanded());
+        Assert.assertEquals("bdf", template.render(context));
+    }
+
+    @Test
+    public void expandNotAboveThreshold() throws Exception {
+        final String utterance = "[a|b|c][d|e|f]";
+        Assert.assertTrue(UtteranceTemplate.compile(utterance, 9).isExpanded());
+        Assert.assertFalse(UtteranceTemplate.compile(utterance, 8).isExpanded());
+        Assert.assertFalse(UtteranceTemplate.compile(utterance).isExpanded());
+        Assert.assertEquals("cf", UtteranceTemplate.compile(utterance, 8).render(context));
+        Assert.assertEquals("cf", UtteranceTemplate.compile(utterance, 9).render(context));
+    }
+
+    @Test
+    public void renderWeightedMultiPhrases() throws Exception {
+        final UtteranceTemplate template = UtteranceTemplate.compile("[Hi::3|Hello] at [10:30|noon::2]");
+        // last index of weighted phrases belongs to the last phrase
+        Assert.assertEquals("Hello at noon", template.render(context));
+        Assert.assertEquals("Hello at noon", UtteranceTemplate.compile("[Hi::3|Hello] at [10:30|noon::2]", 64).render(context));
+        Assert.assertEquals("at 10:30", UtteranceTemplate.compile("at [10:30]").render(context));
+    }
+
+    @Test
+    public void renderPhrasesWithSingleColonUnweighted() throws Exception {
+        // a single colon followed by digits is just text
+        final UtteranceTemplate template = UtteranceTemplate.compile("[Note:1|Step:2]", 64);
+        Assert.assertEquals(2, template.getVariantCount());
+        Assert.assertEquals("Step:2", template.render(context));
+        Assert.assertEquals("Step:2", UtteranceTemplate.compile("[Note:1|Step:2]").render(context));
+    }
+
+    @Test
+    public void compileWithZeroWeight() throws Exception {
+        exception.expect(IllegalArgumentException.class);
+        exception.expectMessage("Weight 0 in multi-phrase [Hi::0|Hello]");
+        UtteranceTemplate.compile("[Hi::0|Hello]");
+    }
+
+    @Test
+    public void compileWithWeightOutOfRange() throws Exception {
+        exception.expect(IllegalArgumentException.class);
+        exception.expectMessage("Weight 2147483648 in multi-phrase [Hi::2147483648|Hello]");
+        UtteranceTemplate.compile("[Hi::2147483648|Hello]");
+    }
+
+    @Test
+    public void renderWeightsWithSeededSelector() throws Exception {
+        final SeededVariantSelector selector = new SeededVariantSelector(42);
+        final UtteranceTemplate.Context seededContext = new UtteranceTemplate.Context() {
+            @Override
+            public int choose(final int bound) {
+                return selector.select(bound);
+            }
+
+            @Override
+            public void appendPlaceholder(final StringBuilder buffer, final String placeholderName) {
+            }
+
+            @Override
+            public void appendSlot(final StringBuilder buffer, final String slotName) {
+            }
+        };
+        final UtteranceTemplate template = UtteranceTemplate.compile("[Hi::9|Hello]", 64);
+        int hi = 0;
+        for (int i = 0; i < 1000; i++) {
+            if ("Hi".equals(template.render(seededContext))) {
+                hi++;
+            }
+        }
+        Assert.assertTrue(hi > 800);
+        Assert.assertTrue(hi < 1000);
+    }
+}
@@ -69,6 +69,16 @@ public class YamlReaderTest {
         testIntent(intentWithInstantUtterance, 3, 0);
     }
 
+    @Test
+    public void testRandomUtteranceIsOneOfUtterances() throws Exception {
+        final List<String> utterances = reader.getUtterances(intentWithInstantUtterance);
+        for (int i = 0; i < 20; i++) {
+            Assert.assertTrue(utterances.contains(reader.getRandomUtterance(intentWithInstantUtterance).get()));
+        }
+        final List<String> reprompts = reader.getReprompts("IntentWithNoSlots");
+        Assert.assertEquals(reprompts.get(0), reader.getRandomReprompt("IntentWithNoSlots").get());
+    }
+
     private void testIntent(final String intent, final int expectedIntentPhrases, final int expectedRepromptPhrases) {
         // getUtterancesByIntentName
         List<String> utterances = reader.getUtterances(intent);
@@ -0,0 +1,23 @@
+/**
+ * Created by Kay Lerch (https://twitter.com/KayLerch)
+ *
+ * Contribute to https://github.com/KayLerch/alexa-skills-kit-tellask-java
+ *
+ * Attached license applies.
+ * This source is licensed under GNU GENERAL PUBLIC LICENSE Version 3 as of 29 June 2007
+ */
+package model;
+
+import io.klerch.alexa.state.model.AlexaStateModel;
+import io.klerch.alexa.tellask.schema.annotation.AlexaSlotSave;
+
+import java.io.IOException;
+
+public class CheckedGetterSlotSaveModel extends AlexaStateModel {
+    @AlexaSlotSave(slotName = "name")
+    private String name;
+
+    public String getName() throws IOException {
+        return name;
+    }
+}
@@ -0,0 +1,19 @@
+/**
+ * Created by Kay Lerch (https://twitter.com/KayLerch)
+ *
+ * Contribute to https://github.com/KayLerch/alexa-skills-kit-tellask-java
+ *
+ * Attached license applies.
+ * This source is licensed under GNU GENERAL PUBLIC LICENSE Version 3 as of 29 June 2007
+ */
+package model;
+
+import io.klerch.alexa.state.model.AlexaStateModel;
+import io.klerch.alexa.tellask.schema.annotation.AlexaSlotSave;
+
+public class PrivateSlotSaveModel {
+    private static class PrivateModel extends AlexaStateModel {
+        @AlexaSlotSave(slotName = "name")
+        public String name;
+    }
+}
@@ -0,0 +1,33 @@
+/**
+ * Created by Kay Lerch (https://twitter.com/KayLerch)
+ *
+ * Contribute to https://github.com/KayLerch/alexa-skills-kit-tellask-java
+ *
+ * Attached license applies.
+ * This source is licensed under GNU GENERAL PUBLIC LICENSE Version 3 as of 29 June 2007
+ */
+package model;
+
+import io.klerch.alexa.state.model.AlexaStateModel;
+import io.klerch.alexa.tellask.schema.annotation.AlexaSlotSave;
+import io.klerch.alexa.tellask.schema.type.AlexaOutputFormat;
+
+public class ValidSlotSaveModel extends AlexaStateModel {
+    @AlexaSlotSave(slotName = "credits", formatAs = AlexaOutputFormat.NUMBER)
+    int credits;
+
+    @AlexaSlotSave(slotName = "name")
+    private String name;
+
+    @AlexaSlotSave(slotName = "title")
+    public String title;
+
+    public String getName() {
+        return name;
+    }
+
+    public static class NestedModel extends ValidSlotSaveModel {
+        @AlexaSlotSave(slotName = "nested")
+        protected String nested;
+    }
+}